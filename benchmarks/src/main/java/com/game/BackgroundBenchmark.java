@@ -0,0 +1,49 @@
+package com.game;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.scene.layout.Pane;
+
+/**
+ * Redrawing the tiled background canvas, and scrolling the cached one. Needs
+ * a display for the JavaFX toolkit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BackgroundBenchmark {
+
+    Map map;
+    double cameraY = 0;
+
+    @Setup
+    public void setUp() {
+        FxToolkit.start();
+        map = new Map(new Pane());
+    }
+
+    @Benchmark
+    public void drawBackground() {
+        map.drawBackground();
+    }
+
+    @Benchmark
+    public void scrollTo() {
+        cameraY -= 2.0;
+        map.scrollTo(cameraY);
+    }
+}
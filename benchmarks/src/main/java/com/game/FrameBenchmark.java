@@ -0,0 +1,76 @@
+package com.game;
+
+import java.util.concurrent.TimeUnit;
+
+import com.game.sim.BenchmarkWorlds;
+import com.game.sim.Sprite;
+import com.game.sim.World;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+
+/**
+ * What the game loop does in one frame on a 120 Hz display: one simulation
+ * tick, then the renderer syncs to the world. Needs a display for the JavaFX
+ * toolkit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    int obstacles;
+
+    @Param({ "nodes", "canvas" })
+    String renderer;
+
+    World world;
+    WorldRenderer worldView;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        FxToolkit.start();
+
+        world = BenchmarkWorlds.filled(obstacles, 42);
+        BenchmarkWorlds.addGhost(world);
+        BenchmarkWorlds.slowDown(world, 0.01);
+
+        Pane layer = new Pane();
+        worldView = "canvas".equals(renderer) ? new CanvasWorldView(layer, world) : new WorldView(layer);
+        for (Sprite sprite : Sprite.values()) {
+            worldView.setRegion(sprite, TextureAtlas.Region.of(image(sprite)));
+        }
+        world.getPlayers().forEach(worldView::onSpawn);
+        world.getObstacles().forEach(worldView::onSpawn);
+        world.addListener(worldView);
+    }
+
+    @Benchmark
+    public void frame() {
+        world.step();
+        worldView.updateUI(0.5);
+    }
+
+    private static Image image(Sprite sprite) {
+        String path = sprite == Sprite.TRAIN ? "/train.png" : "/car_left2.png";
+        return new Image(FrameBenchmark.class.getResource(path).toExternalForm(), sprite.getDefaultWidth(),
+                sprite.getDefaultHeight(), false, true);
+    }
+}
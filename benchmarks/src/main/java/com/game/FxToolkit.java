@@ -0,0 +1,20 @@
+package com.game;
+
+import javafx.application.Platform;
+
+/**
+ * Starts the JavaFX toolkit once per benchmark JVM. Canvases and nodes that
+ * aren't part of a shown scene may then be drawn from the benchmark thread.
+ */
+class FxToolkit {
+
+    private static boolean started = false;
+
+    static synchronized void start() {
+        if (!started) {
+            Platform.startup(() -> {
+            });
+            started = true;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.game.sim;
+
+import java.util.Random;
+
+import com.game.Settings;
+
+/**
+ * Builds worlds in a known state for the benchmarks.
+ */
+public class BenchmarkWorlds {
+
+    /**
+     * A player that is hit like any other but never dies, so a benchmark can
+     * step a crowded world for as long as it likes.
+     */
+    public static class GhostPlayer extends PlayerBody {
+
+        public GhostPlayer(World world, double x, double y, double w, double h) {
+            super(world, new Idle(), x, y, w, h);
+        }
+
+        @Override
+        public boolean checkCollisions(Body obstacle) {
+            return collidesWith(obstacle);
+        }
+    }
+
+    /**
+     * Controls that never press anything.
+     */
+    static class Idle implements Controls {
+
+        @Override
+        public boolean isMoveUp() {
+            return false;
+        }
+
+        @Override
+        public boolean isMoveDown() {
+            return false;
+        }
+
+        @Override
+        public boolean isMoveLeft() {
+            return false;
+        }
+
+        @Override
+        public boolean isMoveRight() {
+            return false;
+        }
+    }
+
+    /**
+     * Creates a world with the given number of obstacles spread over the
+     * screen, one in twenty of them a train.
+     *
+     * @param obstacles The number of obstacles.
+     * @param seed      The seed of the spawn decisions.
+     * @return The world.
+     */
+    public static World filled(int obstacles, long seed) {
+        World world = new World(seed);
+        Random rnd = new Random(seed);
+
+        for (int i = 0; i < obstacles; i++) {
+            if (i % 20 == 0) {
+                world.spawnTrain(false);
+            } else {
+                world.spawnCars(false);
+            }
+        }
+        for (ObstacleBody obstacle : world.obstacles) {
+            obstacle.setX(rnd.nextDouble() * Settings.SCENE_WIDTH);
+            obstacle.savePosition();
+        }
+        world.lanes.update();
+        return world;
+    }
+
+    /**
+     * Slows every obstacle down so a benchmark iteration can step the world
+     * without emptying the screen.
+     *
+     * @param world  The world.
+     * @param factor The factor the velocities are multiplied with.
+     */
+    public static void slowDown(World world, double factor) {
+        for (ObstacleBody obstacle : world.obstacles) {
+            obstacle.dx *= factor;
+        }
+    }
+
+    /**
+     * Adds a ghost player where the game puts the real one.
+     *
+     * @param world The world.
+     * @return The ghost player.
+     */
+    public static GhostPlayer addGhost(World world) {
+        PlayerBody template = world.createPlayer(new Idle());
+        world.players.remove(template);
+        GhostPlayer ghost = new GhostPlayer(world, template.getX(), template.getY(), template.getWidth(),
+                template.getHeight());
+        world.players.add(ghost);
+        return ghost;
+    }
+}
@@ -0,0 +1,82 @@
+package com.game.sim;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A single body against body test, hitting and missing, on the bounding box
+ * and on sprite sized collision masks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollidesWithBenchmark {
+
+    Body player;
+    Body hit;
+    Body miss;
+    CollisionMask disc;
+
+    @Setup
+    public void setUp() {
+        double size = Sprite.SPRITE_SIZE;
+        player = new ObstacleBody(Sprite.PLAYER, 0, 100, 100, size, size, 0);
+        hit = new ObstacleBody(Sprite.CAR_LEFT, 0, 100 + size / 2, 100, size, size, 0);
+        miss = new ObstacleBody(Sprite.CAR_LEFT, 0, 500, 100, size, size, 0);
+        disc = disc((int) size);
+    }
+
+    /**
+     * Builds a mask of a disc filling the square, the corners being empty.
+     *
+     * @param size The side of the square in pixels.
+     * @return The mask.
+     */
+    static CollisionMask disc(int size) {
+        int[] argb = new int[size * size];
+        double radius = size / 2.0;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                double cx = x + 0.5 - radius;
+                double cy = y + 0.5 - radius;
+                argb[y * size + x] = cx * cx + cy * cy <= radius * radius ? 0xFF000000 : 0;
+            }
+        }
+        return CollisionMask.fromArgb(size, size, argb, 128);
+    }
+
+    @Benchmark
+    public boolean collidesWithHit() {
+        return player.collidesWith(hit);
+    }
+
+    @Benchmark
+    public boolean collidesWithMiss() {
+        return player.collidesWith(miss);
+    }
+
+    @Benchmark
+    public boolean pixelsOverlapHit() {
+        return player.collidesWith(hit) && player.pixelsOverlap(hit, disc, disc, 1);
+    }
+
+    @Benchmark
+    public boolean pixelsOverlapCorner() {
+        // boxes overlap at the corners, the discs don't
+        int corner = (int) (Sprite.SPRITE_SIZE * 0.8);
+        return disc.overlaps(disc, corner, corner);
+    }
+}
@@ -0,0 +1,55 @@
+package com.game.sim;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Player against obstacle collision: the lane index used by the world, and
+ * the plain scan over every obstacle it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    int obstacles;
+
+    World world;
+    PlayerBody player;
+
+    @Setup
+    public void setUp() {
+        world = BenchmarkWorlds.filled(obstacles, 42);
+        player = BenchmarkWorlds.addGhost(world);
+    }
+
+    @Benchmark
+    public boolean checkCollisions() {
+        world.checkCollisions();
+        return world.hasCollision();
+    }
+
+    @Benchmark
+    public boolean scanAllObstacles() {
+        boolean hit = false;
+        for (ObstacleBody obstacle : world.obstacles) {
+            hit |= player.collidesWith(obstacle);
+        }
+        return hit;
+    }
+}
@@ -0,0 +1,63 @@
+package com.game.sim;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Spawning into and removing from a world that already holds a given number
+ * of obstacles. Each measurement starts from a freshly filled world, so it is
+ * timed as a single shot over a batch of calls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, batchSize = 100)
+@Measurement(iterations = 20, batchSize = 100)
+@Fork(1)
+public class ObstacleChurnBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    int obstacles;
+
+    World world;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        world = BenchmarkWorlds.filled(obstacles, 42);
+
+        // one in a hundred obstacles left the screen this tick
+        for (int i = 0; i < world.obstacles.size(); i += 100) {
+            world.obstacles.get(i).remove();
+        }
+    }
+
+    @Benchmark
+    public void spawnCars() {
+        world.spawnCars(false);
+    }
+
+    @Benchmark
+    public void spawnTrain() {
+        world.spawnTrain(false);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 10, batchSize = 1)
+    @Measurement(iterations = 20, batchSize = 1)
+    public int removeObstacles() {
+        world.removeObstacles();
+        return world.obstacles.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.game.sim;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * One full simulation tick: input, spawning, movement, lane sorting,
+ * collision and removal. This is the part of a frame that doesn't depend on
+ * the renderer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StepBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    int obstacles;
+
+    World world;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        world = BenchmarkWorlds.filled(obstacles, 42);
+        BenchmarkWorlds.addGhost(world);
+
+        // keep the obstacles on screen for the whole iteration
+        BenchmarkWorlds.slowDown(world, 0.01);
+    }
+
+    @Benchmark
+    public int step() {
+        world.step();
+        return world.obstacles.size();
+    }
+}
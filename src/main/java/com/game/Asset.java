@@ -0,0 +1,77 @@
+package com.game;
+
+import com.game.sim.Sprite;
+
+/**
+ * The images of the game, with the size they are decoded at by default.
+ */
+public enum Asset {
+    PLAYER("/for_char1.png", 1, 1, true),
+    ENEMY("sprites/enemy.png", 1, 1, true),
+    CAR_RIGHT("/car_right3.png", 1, 1, true),
+    CAR_LEFT("/car_left2.png", 1, 1, true),
+    TRAIN("/train.png", 12, 1, false),
+    LOG("/log.png", 3, 1, false),
+    DOUBLE_POINT("/doublePoint.png", 1, 1, true),
+    SHIELD("/shield.png", 1, 1, true),
+    GRASS("sprites/grass.png", 0, 0, true);
+
+    private final String path;
+    private final double width;
+    private final double height;
+    private final boolean preserveRatio;
+
+    /**
+     * Constructor for the Asset enum.
+     *
+     * @param path          The resource path, relative to the com.game
+     *                      package unless it starts with a slash.
+     * @param cellsWide     How many sprite cells the image is scaled to
+     *                      horizontally, 0 to keep its own width.
+     * @param cellsHigh     How many sprite cells the image is scaled to
+     *                      vertically, 0 to keep its own height.
+     * @param preserveRatio Whether to keep the aspect ratio when scaling.
+     */
+    Asset(String path, int cellsWide, int cellsHigh, boolean preserveRatio) {
+        this.path = path;
+        this.width = cellsWide * Sprite.SPRITE_SIZE;
+        this.height = cellsHigh * Sprite.SPRITE_SIZE;
+        this.preserveRatio = preserveRatio;
+    }
+
+    /**
+     * Gets the resource path of the image.
+     *
+     * @return The resource path.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the width the image is decoded at by default.
+     *
+     * @return The width, 0 for the width of the file.
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height the image is decoded at by default.
+     *
+     * @return The height, 0 for the height of the file.
+     */
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * Checks if the aspect ratio is kept when scaling.
+     *
+     * @return True if the ratio is kept, false otherwise.
+     */
+    public boolean isPreserveRatio() {
+        return preserveRatio;
+    }
+}
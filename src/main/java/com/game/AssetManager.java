@@ -0,0 +1,165 @@
+package com.game;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+import javafx.scene.image.Image;
+
+/**
+ * Decodes images on JavaFX's background loader threads, all at once, and
+ * caches every decoded size of an asset. Cache entries are soft references:
+ * an image still shown stays, a size nobody uses any more can be dropped when
+ * memory runs low and is decoded again if asked for.
+ * <p>
+ * Must be used on the FX thread.
+ */
+public class AssetManager {
+
+    private final HashMap<Key, Entry> cache = new HashMap<>();
+    private final ReferenceQueue<Image> cleared = new ReferenceQueue<>();
+
+    /**
+     * Gets an asset at its default size, starting to decode it if it isn't
+     * cached.
+     *
+     * @param asset The asset.
+     * @return The image, possibly still loading.
+     */
+    public Image get(Asset asset) {
+        return get(asset, asset.getWidth(), asset.getHeight());
+    }
+
+    /**
+     * Gets an asset scaled to the given size, starting to decode it if that
+     * size isn't cached.
+     *
+     * @param asset  The asset.
+     * @param width  The width to scale to, 0 for the width of the file.
+     * @param height The height to scale to, 0 for the height of the file.
+     * @return The image, possibly still loading.
+     */
+    public Image get(Asset asset, double width, double height) {
+        purge();
+
+        Key key = new Key(asset, width, height);
+        Entry entry = cache.get(key);
+        Image image = entry != null ? entry.get() : null;
+        if (image == null) {
+            URL url = AssetManager.class.getResource(asset.getPath());
+            if (url == null) {
+                throw new RuntimeException(asset.getPath() + " not found");
+            }
+            image = new Image(url.toExternalForm(), width, height, asset.isPreserveRatio(), true, true);
+            cache.put(key, new Entry(key, image, cleared));
+        }
+        return image;
+    }
+
+    /**
+     * Starts decoding every asset at its default size in parallel and reports
+     * the progress until all of them are loaded.
+     *
+     * @param assets     The assets to load.
+     * @param onProgress Called with the share loaded so far, from 0 to 1.
+     * @param onLoaded   Called once when every asset is loaded.
+     */
+    public void loadAll(Collection<Asset> assets, DoubleConsumer onProgress, Runnable onLoaded) {
+        List<Image> images = new ArrayList<>();
+        for (Asset asset : assets) {
+            images.add(get(asset));
+        }
+
+        Runnable check = new Runnable() {
+            private boolean done = false;
+
+            @Override
+            public void run() {
+                if (done) {
+                    return;
+                }
+                double progress = 0;
+                for (Image image : images) {
+                    if (image.isError()) {
+                        done = true;
+                        throw new RuntimeException("could not load " + image.getUrl(), image.getException());
+                    }
+                    progress += image.getProgress();
+                }
+                onProgress.accept(progress / Math.max(images.size(), 1));
+                if (progress >= images.size()) {
+                    done = true;
+                    onLoaded.run();
+                }
+            }
+        };
+        for (Image image : images) {
+            image.progressProperty().addListener((observable, oldValue, newValue) -> check.run());
+            image.errorProperty().addListener((observable, oldValue, newValue) -> check.run());
+        }
+        check.run();
+    }
+
+    /**
+     * Drops the cache entries whose image was collected.
+     */
+    private void purge() {
+        Reference<? extends Image> reference;
+        while ((reference = cleared.poll()) != null) {
+            Entry entry = (Entry) reference;
+            cache.remove(entry.key, entry);
+        }
+    }
+
+    /**
+     * An asset at a size.
+     */
+    private static class Key {
+
+        private final Asset asset;
+        private final double width;
+        private final double height;
+
+        Key(Asset asset, double width, double height) {
+            this.asset = asset;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return asset == other.asset && Double.compare(width, other.width) == 0
+                    && Double.compare(height, other.height) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(asset, width, height);
+        }
+    }
+
+    /**
+     * A cached image that remembers its key, so it can be removed from the
+     * cache once collected.
+     */
+    private static class Entry extends SoftReference<Image> {
+
+        private final Key key;
+
+        Entry(Key key, Image image, ReferenceQueue<Image> queue) {
+            super(image, queue);
+            this.key = key;
+        }
+    }
+}
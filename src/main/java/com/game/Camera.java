@@ -1,5 +1,11 @@
 package com.game;
 
+/**
+ * Follows the player up the screen. The camera is a Y position in the world:
+ * bodies keep world coordinates, and the views apply the camera once per
+ * frame with {@link #worldToScreen(double)}, or as a translate by minus
+ * {@link #getY()}.
+ */
 public class Camera {
     private double y = 0;
     private static final double PLAYER_VERTICAL_OFFSET = Settings.SCENE_HEIGHT * 0.7;
@@ -10,16 +16,24 @@ public class Camera {
     private boolean isMoving = false;
     private double lastPlayerY;
 
+    /**
+     * Constructor for the Camera class, at the origin.
+     */
     public Camera() {
         this.lastPlayerY = 0;
     }
 
+    /**
+     * Moves the camera towards the player. It starts scrolling the first time
+     * the player hops forward, and then keeps scrolling.
+     *
+     * @param playerY The Y position of the player in the world.
+     */
     public void update(double playerY) {
         targetY = playerY - PLAYER_VERTICAL_OFFSET;
 
         if (!isMoving && playerY < lastPlayerY) {
             isMoving = true;
-            System.out.println("Camera started following player");
         }
 
         if (isMoving) {
@@ -33,21 +47,40 @@ public class Camera {
         }
 
         lastPlayerY = playerY;
-        System.out.println("Camera Y: " + y + " | Player Y: " + playerY + " | Target Y: " + targetY);
     }
 
+    /**
+     * Gets the Y position of the camera, the world Y at the top of the screen.
+     *
+     * @return The Y position of the camera.
+     */
     public double getY() {
         return y;
     }
 
+    /**
+     * Converts a world Y position to a screen one.
+     *
+     * @param worldY The Y position in the world.
+     * @return The Y position on the screen.
+     */
     public double worldToScreen(double worldY) {
         return worldY - y;
     }
 
+    /**
+     * Converts a screen Y position to a world one.
+     *
+     * @param screenY The Y position on the screen.
+     * @return The Y position in the world.
+     */
     public double screenToWorld(double screenY) {
         return screenY + y;
     }
 
+    /**
+     * Puts the camera back at the origin.
+     */
     public void reset() {
         y = 0;
         targetY = 0;
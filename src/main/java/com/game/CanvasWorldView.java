@@ -0,0 +1,122 @@
+package com.game;
+
+import java.util.EnumMap;
+import java.util.List;
+
+import com.game.sim.Body;
+import com.game.sim.Sprite;
+import com.game.sim.World;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+
+/**
+ * Draws every body of a {@link World} in one pass onto a single canvas, the
+ * way {@link Map} draws its background tiles. Spawning and removing bodies
+ * doesn't touch the scene graph at all, and there is no per-node layout or CSS
+ * pass however many bodies are on screen.
+ * <p>
+ * The camera is one translate of the graphics context per frame; bodies
+ * entirely above or below the screen are skipped.
+ */
+public class CanvasWorldView implements WorldRenderer {
+
+    private final World world;
+    private final Canvas canvas;
+
+    private final EnumMap<Sprite, TextureAtlas.Region> regions = new EnumMap<>(Sprite.class);
+
+    private double cameraY = 0;
+
+    /**
+     * Constructor for the CanvasWorldView class.
+     *
+     * @param layer The pane layer to add the canvas to.
+     * @param world The world to draw.
+     */
+    public CanvasWorldView(Pane layer, World world) {
+        this.world = world;
+        this.canvas = new Canvas(Settings.SCENE_WIDTH, Settings.SCENE_HEIGHT);
+        layer.getChildren().add(canvas);
+    }
+
+    /**
+     * Sets the atlas region bodies of the given sprite are drawn with.
+     *
+     * @param sprite The sprite.
+     * @param region The region of the sprite.
+     */
+    @Override
+    public void setRegion(Sprite sprite, TextureAtlas.Region region) {
+        regions.put(sprite, region);
+    }
+
+    /**
+     * Redraws the canvas. Power ups are drawn first and players last, so the
+     * player stays on top of everything else.
+     *
+     * @param alpha How far the frame is past the last tick, in [0, 1].
+     */
+    @Override
+    public void updateUI(double alpha) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, Settings.SCENE_WIDTH, Settings.SCENE_HEIGHT);
+
+        gc.save();
+        gc.translate(0, -cameraY);
+        drawBodies(gc, world.getPowerUps(), alpha);
+        drawBodies(gc, world.getObstacles(), alpha);
+        drawBodies(gc, world.getPlayers(), alpha);
+        gc.restore();
+    }
+
+    /**
+     * Sets the camera position the next frame is drawn from.
+     *
+     * @param cameraY The Y position of the camera in the world.
+     */
+    @Override
+    public void scrollTo(double cameraY) {
+        this.cameraY = cameraY;
+    }
+
+    /**
+     * Draws a list of bodies.
+     *
+     * @param gc     The graphics context of the canvas.
+     * @param bodies The bodies to draw.
+     * @param alpha  How far the frame is past the last tick, in [0, 1].
+     */
+    private void drawBodies(GraphicsContext gc, List<? extends Body> bodies, double alpha) {
+        for (int i = 0; i < bodies.size(); i++) {
+            Body body = bodies.get(i);
+            TextureAtlas.Region region = regions.get(body.getSprite());
+            if (region == null) {
+                continue;
+            }
+            double w = region.getWidth();
+            double h = region.getHeight();
+
+            double x = body.getRenderX(alpha);
+            double y = body.getRenderY(alpha);
+            double r = body.getRenderR(alpha);
+            // a rotated body reaches at most its longer side past its box
+            double reach = Math.max(w, h);
+            if (y + reach < cameraY || y - reach > cameraY + Settings.SCENE_HEIGHT) {
+                continue;
+            }
+
+            if (r == 0) {
+                gc.drawImage(region.getImage(), region.getX(), region.getY(), w, h, x, y, w, h);
+            } else {
+                // rotate around the center, like ImageView.setRotate does
+                gc.save();
+                gc.translate(x + w * 0.5, y + h * 0.5);
+                gc.rotate(r);
+                gc.drawImage(region.getImage(), region.getX(), region.getY(), w, h, -w * 0.5, -h * 0.5, w, h);
+                gc.restore();
+            }
+        }
+    }
+}
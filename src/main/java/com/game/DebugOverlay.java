@@ -0,0 +1,75 @@
+package com.game;
+
+import com.game.sim.FrameProfiler;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * Shows the p50, p99 and max time of every frame phase in the top left
+ * corner, and the input latency if it is measured. Hidden until toggled;
+ * while shown it refreshes a few times a second rather than every frame, so
+ * it barely shows up in its own numbers.
+ */
+public class DebugOverlay {
+
+    private static final long REFRESH_NANOS = 250_000_000L;
+
+    private final FrameProfiler profiler;
+    private final Text text = new Text();
+    private LatencyProbe latencyProbe;
+    private long lastRefresh = Long.MIN_VALUE;
+
+    /**
+     * Constructor for the DebugOverlay class.
+     *
+     * @param layer    The layer to add the overlay to.
+     * @param profiler The profiler to show.
+     */
+    public DebugOverlay(Pane layer, FrameProfiler profiler) {
+        this.profiler = profiler;
+
+        text.setFont(Font.font("Monospaced", 14));
+        text.setFill(Color.WHITE);
+        text.setStroke(Color.BLACK);
+        text.setStrokeWidth(0.5);
+        text.setLayoutX(10);
+        text.setLayoutY(20);
+        text.setVisible(false);
+        text.setMouseTransparent(true);
+        layer.getChildren().add(text);
+    }
+
+    /**
+     * Sets the latency probe shown below the frame timings.
+     *
+     * @param latencyProbe The probe, or null to show none.
+     */
+    public void setLatencyProbe(LatencyProbe latencyProbe) {
+        this.latencyProbe = latencyProbe;
+    }
+
+    /**
+     * Shows or hides the overlay.
+     */
+    public void toggle() {
+        text.setVisible(!text.isVisible());
+        lastRefresh = Long.MIN_VALUE;
+    }
+
+    /**
+     * Refreshes the numbers if the overlay is shown and they are old enough.
+     *
+     * @param now The current time in nanoseconds.
+     */
+    public void update(long now) {
+        if (!text.isVisible() || (lastRefresh != Long.MIN_VALUE && now - lastRefresh < REFRESH_NANOS)) {
+            return;
+        }
+        lastRefresh = now;
+        text.setText(latencyProbe == null ? profiler.format()
+                : profiler.format() + "\ninput latency\n" + latencyProbe.format());
+    }
+}
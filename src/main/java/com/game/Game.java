@@ -1,17 +1,24 @@
 package com.game;
 
 import java.io.IOException;
-import java.net.URL;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
-
-import com.game.powerUp.DoublePointPowerUp;
-import com.game.powerUp.PowerUp;
-import com.game.powerUp.ShieldPowerUp;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.concurrent.ForkJoinPool;
+
+import com.game.events.FrameEvent;
+import com.game.sim.Controls;
+import com.game.sim.FixedStepClock;
+import com.game.sim.FrameProfiler;
+import com.game.sim.Grid;
+import com.game.sim.InputRecorder;
+import com.game.sim.LaneGenerator;
+import com.game.sim.LaneStream;
+import com.game.sim.Sprite;
+import com.game.sim.SpriteMasks;
+import com.game.sim.World;
+import com.game.sim.WorldListener;
 
 import javafx.animation.AnimationTimer;
 import javafx.application.Application;
@@ -20,7 +27,10 @@ import javafx.geometry.Pos;
 import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
@@ -30,47 +40,38 @@ import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
-public class Game extends Application {
-
-    Random rnd = new Random();
+public class Game extends Application implements WorldListener {
 
     Pane playfieldLayer;
     Pane scoreLayer;
 
-    Image playerImage;
-    Image obstacleImage;
-    Image doublePointPowerUpImage;
-
-    Image carRImage;
-    Image carLImage;
-    Image trainImage;
-    Image logImage;
-    Image shieldPowerUpImage;
-
     private Map gameMap;
+    private final AssetManager assets = new AssetManager();
+    private TextureAtlas atlas;
+
+    private World world;
+    private WorldRenderer worldView;
+    private final FixedStepClock clock = new FixedStepClock(World.STEP_NANOS);
+    private Input input;
+    private Path recordPath;
+    private InputRecorder recorder;
+    private final FrameProfiler profiler = new FrameProfiler();
+    private DebugOverlay debugOverlay;
+    private LatencyProbe latencyProbe;
 
-    private boolean isGameOver = false;
     private VBox gameOverMenu;
 
     private Text scoreText = new Text();
-    private int point = 0;
-    private int updateScore;
-
-    List<Player> players = new ArrayList<>();
-    List<Obstacle> obstacles = new ArrayList<>();
-    List<PowerUp> powerUps = new ArrayList<>();
-
-    boolean collision = false;
 
     Scene scene;
 
     /**
-     * Gets the power ups.
+     * Gets the simulated world.
      * 
-     * @return The power ups.
+     * @return The world.
      */
-    public List<PowerUp> getPowerUps() {
-        return powerUps;
+    public World getWorld() {
+        return world;
     }
 
     /**
@@ -96,74 +97,181 @@ public class Game extends Application {
         primaryStage.setScene(scene);
         primaryStage.show();
 
-        gameMap = new Map(playfieldLayer);
+        world = new World();
+        world.setProfiler(profiler);
+        // --endless-lanes=true spawns obstacles on generated lanes only
+        if (Boolean.parseBoolean(
+                getParameters().getNamed().getOrDefault("endless-lanes", String.valueOf(Settings.ENDLESS_LANES)))) {
+            // chunks ahead of the camera are generated off the FX thread
+            world.setTerrain(new LaneStream(new LaneGenerator(world.getSeed()), ForkJoinPool.commonPool(), 2, 1));
+        }
+        worldView = createRenderer();
+        world.addListener(worldView);
 
-        loadGame();
+        // --record=<file> saves the input of each session for ReplayRun
+        String record = getParameters().getNamed().get("record");
+        if (record != null) {
+            recordPath = Paths.get(record);
+        }
+        world.addListener(this);
+
+        // the sprites are decoded in parallel on background threads while the
+        // loading screen shows, and the game is built once they are all in
+        VBox loadingScreen = createLoadingScreen();
+        ProgressBar loadingBar = (ProgressBar) loadingScreen.getChildren().get(1);
+        scoreLayer.getChildren().add(loadingScreen);
+        assets.loadAll(EnumSet.allOf(Asset.class), loadingBar::setProgress, () -> {
+            scoreLayer.getChildren().remove(loadingScreen);
+            loadGame();
+            gameMap = new Map(playfieldLayer, atlas.getRegion(Asset.GRASS));
+            startGame();
+        });
+    }
 
+    /**
+     * Creates the loading screen shown while the sprites are decoded.
+     * 
+     * @return The loading screen, its second child being the progress bar.
+     */
+    private VBox createLoadingScreen() {
+        Text loadingText = new Text("Loading...");
+        loadingText.setFont(Font.font("Arial", FontWeight.BOLD, 30));
+        loadingText.setFill(Color.WHITE);
+
+        ProgressBar loadingBar = new ProgressBar(0);
+        loadingBar.setPrefWidth(Settings.SCENE_WIDTH / 3);
+
+        VBox loadingScreen = new VBox(20, loadingText, loadingBar);
+        loadingScreen.setAlignment(Pos.CENTER);
+        loadingScreen.setPrefSize(Settings.SCENE_WIDTH, Settings.SCENE_HEIGHT);
+        loadingScreen.setStyle("-fx-background-color: #2e7d32;");
+        return loadingScreen;
+    }
+
+    /**
+     * Builds the score layer and the players and starts the game loop, once
+     * the sprites are loaded.
+     */
+    private void startGame() {
         createScoreLayer();
         createPlayers();
+        debugOverlay = new DebugOverlay(scoreLayer, profiler);
+
+        // --latency=<file> measures how long hops take to show up on screen
+        if (getParameters().getNamed().getOrDefault("latency", Settings.LATENCY_FILE) != null) {
+            latencyProbe = new LatencyProbe(scene, input);
+            debugOverlay.setLatencyProbe(latencyProbe);
+        }
+
+        // P pauses and resumes the game, timed power up effects included;
+        // F3 shows the frame timings
+        scene.addEventHandler(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.P && !world.isGameOver()) {
+                world.setPaused(!world.isPaused());
+                if (input != null) {
+                    input.clear();
+                }
+            } else if (event.getCode() == KeyCode.F3) {
+                debugOverlay.toggle();
+            }
+        });
 
         AnimationTimer gameLoop = new AnimationTimer() {
 
             /**
-             * Handles the game loop.
+             * Handles the game loop. The world runs at the fixed tick rate
+             * whatever the refresh rate of the display is, and the view is
+             * interpolated between the last two ticks.
              * 
-             * @param now The current time.
+             * @param now The current time in nanoseconds.
              */
             @Override
             public void handle(long now) {
-                if (!isGameOver) {
-                    // player input
-                    players.forEach(player -> player.processInput());
+                long frameStart = System.nanoTime();
+                if (latencyProbe != null) {
+                    latencyProbe.onPulse(frameStart);
+                }
+                FrameEvent frameEvent = new FrameEvent();
+                frameEvent.begin();
+
+                int steps = clock.advance(now);
+                if (input != null && (world.isGameOver() || world.isPaused())) {
+                    // nothing polls the input while the world stands still,
+                    // so drop what comes in rather than replay it later
+                    input.clear();
+                }
+                if (!world.isGameOver()) {
+                    // lanes are streamed and spawned from the rows in view
+                    world.setViewRow((int) Math.floor(gameMap.getCameraY() / Grid.SIZE));
 
-                    // add random enemies
-                    spawnCars(true);
-                    spawnTrain(true);
-                    // spawnLog(true);
+                    // input, spawning, movement, collisions and removal
+                    for (int i = 0; i < steps && !world.isGameOver(); i++) {
+                        world.step();
+                    }
 
-                    // movement
-                    players.forEach(player -> player.move());
-                    obstacles.forEach(obstacle -> obstacle.move());
+                    if (latencyProbe != null && !world.getPlayers().isEmpty()) {
+                        latencyProbe.onTicks(world.getPlayers().get(0), System.nanoTime());
+                    }
 
                     // // Update camera position based on player position
-                    // if (!players.isEmpty()) {
-                    // Player player = players.get(0);
+                    // if (!world.getPlayers().isEmpty()) {
+                    // PlayerBody player = world.getPlayers().get(0);
                     // gameMap.updateViewport(player.getY());
                     // }
 
-                    // check collisions
-                    checkCollisions();
-
-                    // update obstacles in scene
-                    players.forEach(obstacle -> obstacle.updateUI());
-                    obstacles.forEach(obstacle -> obstacle.updateUI());
-
-                    // check if obstacle can be removed
-                    obstacles.forEach(obstacle -> obstacle.checkRemovability());
-
-                    // remove removables from list, layer, etc
-                    removeObstacles(obstacles);
-
-                    // check collisons with power ups
-
-                    // spawn powerUps
-                    spawnPowerUps();
+                    // update bodies in scene; they stay in world coordinates
+                    // and the camera is one translate for all of them
+                    long stepEnd = System.nanoTime();
+                    worldView.scrollTo(gameMap.getCameraY());
+                    worldView.updateUI(clock.getAlpha());
+                    long uiSyncEnd = profiler.lap(FrameProfiler.Phase.UI_SYNC, stepEnd);
+                    if (latencyProbe != null) {
+                        latencyProbe.onUpdateUI(uiSyncEnd);
+                    }
 
                     // update point
                     updatePoint();
-
+                    long scoreEnd = profiler.lap(FrameProfiler.Phase.SCORE, uiSyncEnd);
+                    profiler.record(FrameProfiler.Phase.FRAME, scoreEnd - frameStart);
+
+                    frameEvent.end();
+                    if (frameEvent.shouldCommit()) {
+                        frameEvent.ticks = steps;
+                        frameEvent.obstacles = world.getObstacles().size();
+                        frameEvent.powerUps = world.getPowerUps().size();
+                        frameEvent.stepTime = stepEnd - frameStart;
+                        frameEvent.uiSyncTime = uiSyncEnd - stepEnd;
+                        frameEvent.scoreTime = scoreEnd - uiSyncEnd;
+                        frameEvent.commit();
+                    }
                 }
+                debugOverlay.update(now);
 
             }
         };
         gameLoop.start();
     }
 
+    /**
+     * Creates the renderer chosen with --render=nodes|canvas, falling back to
+     * {@link Settings#RENDER_MODE}.
+     * 
+     * @return The renderer drawing the world.
+     */
+    private WorldRenderer createRenderer() {
+        String renderMode = getParameters().getNamed().getOrDefault("render", Settings.RENDER_MODE);
+        if ("canvas".equals(renderMode)) {
+            return new CanvasWorldView(playfieldLayer, world);
+        }
+        return new WorldView(playfieldLayer);
+    }
+
     /**
      * Handles the game over.
      */
-    public void gameOver() {
-        isGameOver = true;
+    @Override
+    public void onGameOver() {
+        saveRecording();
 
         // Create game over menu
         gameOverMenu = new VBox(20); // 20 is the spacing between elements
@@ -174,7 +282,7 @@ public class Game extends Application {
         gameOverText.setFill(Color.RED);
         gameOverText.setStroke(Color.BLACK);
 
-        Text finalScore = new Text("Final Score: " + point);
+        Text finalScore = new Text("Final Score: " + world.getPoint());
         finalScore.setFont(Font.font(null, FontWeight.BOLD, 36));
         finalScore.setFill(Color.WHITE);
         finalScore.setStroke(Color.BLACK);
@@ -192,23 +300,65 @@ public class Game extends Application {
         scoreLayer.getChildren().add(gameOverMenu);
     }
 
+    /**
+     * Saves the recording of a session that is still running, e.g. when the
+     * window is closed before the game is over, the frame timings if asked
+     * with --profile=<file> and the input latency if asked with
+     * --latency=<file>.
+     */
+    @Override
+    public void stop() {
+        saveRecording();
+
+        String profile = getParameters().getNamed().getOrDefault("profile", Settings.PROFILE_FILE);
+        if (profile != null) {
+            try {
+                profiler.writeCsv(Paths.get(profile));
+            } catch (IOException e) {
+                System.err.println("could not save the frame timings to " + profile + ": " + e.getMessage());
+            }
+        }
+
+        String latency = getParameters().getNamed().getOrDefault("latency", Settings.LATENCY_FILE);
+        if (latencyProbe != null) {
+            System.out.print(latencyProbe.format());
+            try {
+                latencyProbe.writeCsv(Paths.get(latency));
+            } catch (IOException e) {
+                System.err.println("could not save the input latency to " + latency + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes the input recorded during the session, if recording is on. A
+     * failed save is reported but doesn't stop the game.
+     */
+    private void saveRecording() {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.save(recordPath);
+        } catch (IOException e) {
+            System.err.println("could not save the input recording to " + recordPath + ": " + e.getMessage());
+        }
+        recorder = null;
+    }
+
     /**
      * Restarts the game.
      */
     private void restartGame() {
-        // Reset game state
-        isGameOver = false;
-        point = 0;
-        collision = false;
+        // Reset game state and clear all bodies
+        world.reset();
+        clock.reset();
+        if (input != null) {
+            input.clear();
+        }
         // gameMap.resetViewport();
         // gameMap.resetCamera();
 
-        // Clear all entities
-        obstacles.forEach(obstacle -> obstacle.removeFromLayer());
-        obstacles.clear();
-        players.forEach(player -> player.removeFromLayer());
-        players.clear();
-
         // Remove game over menu
         scoreLayer.getChildren().remove(gameOverMenu);
 
@@ -223,78 +373,41 @@ public class Game extends Application {
      * Updates the point.
      */
     public void updatePoint() {
-        scoreText.setText("Score: " + point);
+        scoreText.setText("Score: " + world.getPoint());
     }
 
     /**
-     * Updates the score.
-     * 
-     * @param points The points to update the score with.
+     * Packs the loaded sprites into the texture atlas and hands each one to
+     * the view and the world.
      */
-    public void updateScore(int points) {
-        point += points;
-        updateScoreDisplay();
-    }
-
-    /**
-     * Updates the score display.
-     */
-    private void updateScoreDisplay() {
-        scoreText.setText("Score: " + point);
+    private void loadGame() {
+        EnumMap<Asset, Image> images = new EnumMap<>(Asset.class);
+        for (Asset asset : Asset.values()) {
+            images.put(asset, assets.get(asset));
+        }
+        atlas = TextureAtlas.pack(images);
+
+        registerSprite(Sprite.PLAYER, Asset.PLAYER);
+        registerSprite(Sprite.CAR_RIGHT, Asset.CAR_RIGHT);
+        registerSprite(Sprite.CAR_LEFT, Asset.CAR_LEFT);
+        registerSprite(Sprite.TRAIN, Asset.TRAIN);
+        registerSprite(Sprite.LOG, Asset.LOG);
+        registerSprite(Sprite.DOUBLE_POINT, Asset.DOUBLE_POINT);
+        registerSprite(Sprite.SHIELD, Asset.SHIELD);
     }
 
     /**
-     * Gets the update score.
+     * Hands the atlas region of a sprite to the view, and its size and opaque
+     * pixels to the world.
      * 
-     * @return The update score.
+     * @param sprite The sprite the region is drawn for.
+     * @param asset  The asset packed for the sprite.
      */
-    public int getUpdateScore() {
-        return this.updateScore;
-    }
-
-    /**
-     * Loads the game.
-     */
-    private void loadGame() {
-        URL playerUrl = getClass().getResource("/for_char1.png");
-        URL obstacleUrl = getClass().getResource("sprites/enemy.png");
-        URL carRUrl = getClass().getResource("/car_right3.png");
-        URL carLUrl = getClass().getResource("/car_left2.png");
-        URL trainUrl = getClass().getResource("/train.png");
-        URL logUrl = getClass().getResource("/log.png");
-
-        // Image double Point
-        URL doublePointPowerUpUrl = getClass().getResource("/doublePoint.png");
-        if (doublePointPowerUpUrl == null) {
-            throw new RuntimeException("doublePoint.png not found");
-        }
-
-        // Image shield
-        URL shieldPowerUpUrl = getClass().getResource("/shield.png");
-        if (shieldPowerUpUrl == null) {
-            throw new RuntimeException("shield.png not found");
-        }
-
-        if (playerUrl == null) {
-            throw new RuntimeException("player.png not found");
-        }
-        if (obstacleUrl == null) {
-            throw new RuntimeException("enemy.png not found");
-        }
-
-        // Load images and scale them to fit grid cells slightly smaller than grid
-        // size
-        double spriteSize = Map.GRID_SIZE * 0.9; // 90% of grid size
-        // double FspriteSize = Map.GRID_WIDTH * 4;
-        // double FfspriteSize = Map.GRID_HEIGHT * 4;
-        playerImage = new Image(playerUrl.toExternalForm(), spriteSize, spriteSize, true, true);
-        obstacleImage = new Image(obstacleUrl.toExternalForm(), spriteSize, spriteSize, true, true);
-        carRImage = new Image(carRUrl.toExternalForm(), spriteSize, spriteSize, true, true);
-        carLImage = new Image(carLUrl.toExternalForm(), spriteSize, spriteSize, true, true);
-        trainImage = new Image(trainUrl.toExternalForm(), 12 * spriteSize, spriteSize, false, true);
-        logImage = new Image(logUrl.toExternalForm(), 3 * spriteSize, spriteSize, false, true);
-        doublePointPowerUpImage = new Image(doublePointPowerUpUrl.toExternalForm(), spriteSize, spriteSize, true, true);
-        shieldPowerUpImage = new Image(shieldPowerUpUrl.toExternalForm(), spriteSize, spriteSize, true, true);
+    private void registerSprite(Sprite sprite, Asset asset) {
+        TextureAtlas.Region region = atlas.getRegion(asset);
+        worldView.setRegion(sprite, region);
+        world.setSpriteSize(sprite, region.getWidth(), region.getHeight());
+        world.setCollisionMask(sprite, SpriteMasks.get(sprite, region.getWidth(), region.getHeight()));
     }
 
     /**
@@ -310,189 +423,25 @@ public class Game extends Application {
         scorePlayer.setPadding(new Insets(25, 25, 25, 25));
         scoreLayer.getChildren().add(scorePlayer);
         scoreText.setFont(Font.font("ARIAL", FontWeight.BOLD, 30));
-        scoreText.setText("Score: " + point); // Set the text by "text: " and the point given to the player's position
+        scoreText.setText("Score: " + world.getPoint()); // Set the text by "text: " and the point given to the player's position
     }
 
     /**
      * Creates the players.
      */
     private void createPlayers() {
-        Input input = new Input(scene);
-        input.addListeners();
-
-        // Center the sprite in the grid cell
-        int gridX = Map.GRID_WIDTH / 2;
-        int gridY = (int) (Map.GRID_HEIGHT * 0.7);
-        double x = Map.gridToPixel(gridX) + (Map.GRID_SIZE - playerImage.getWidth()) / 2;
-        double y = Map.gridToPixel(gridY) + (Map.GRID_SIZE - playerImage.getHeight()) / 2;
-
-        Player player = new Player(playfieldLayer, playerImage, x, y, 0, 0, 0, Settings.PLAYER_SHIP_HEALTH, 0,
-                Settings.PLAYER_SHIP_SPEED, input, this);
-
-        players.add(player);
-    }
-
-    /**
-     * Spawns enemies.
-     * 
-     * @param random Whether to spawn enemies randomly.
-     */
-    private void spawnCars(boolean random) {
-        if (random && rnd.nextInt(Settings.ENEMY_SPAWN_RANDOMNESS = 100) != 0) {
-            return;
+        if (input == null) {
+            String buffer = getParameters().getNamed().get("input-buffer");
+            input = new Input(scene, buffer != null ? Double.parseDouble(buffer) : Settings.INPUT_BUFFER);
+            input.addListeners();
         }
 
-        // Randomly choose left or right spawn
-        boolean spawnRight = rnd.nextBoolean();
-
-        int gridX = rnd.nextInt(Map.GRID_HEIGHT);
-        double x, y, speed;
-
-        if (spawnRight) {
-            x = Settings.SCENE_WIDTH;
-            y = Map.gridToPixel(gridX) + (Map.GRID_SIZE - carLImage.getHeight()) / 2;
-            speed = -(rnd.nextDouble() * 1.0 + 8.0);
-
-            Obstacle obstacle = new Obstacle(playfieldLayer, carLImage, x, y, 0, speed, 0, 0, 1, 1);
-            obstacles.add(obstacle);
-        } else {
-            x = -carRImage.getWidth();
-            y = Map.gridToPixel(gridX) + (Map.GRID_SIZE - carRImage.getHeight()) / 2;
-            speed = rnd.nextDouble() * 1.0 + 8.0;
-
-            Obstacle obstacle = new Obstacle(playfieldLayer, carRImage, x, y, 0, speed, 0, 0, 1, 1);
-            obstacles.add(obstacle);
+        Controls controls = input;
+        if (recordPath != null) {
+            recorder = new InputRecorder(input, world);
+            controls = recorder;
         }
-    }
-
-    /**
-     * Spawns a train.
-     * 
-     * @param random Whether to spawn a train randomly.
-     */
-    private void spawnTrain(boolean random) {
-        if (random && rnd.nextInt(Settings.ENEMY_SPAWN_RANDOMNESS = 300) != 0) {
-            return;
-        }
-
-        // Randomly choose left or right spawn
-        boolean spawnRight = rnd.nextBoolean();
-
-        int gridX = rnd.nextInt(Map.GRID_HEIGHT);
-        double x, y, speed;
-
-        if (spawnRight) {
-            x = Settings.SCENE_WIDTH;
-            y = Map.gridToPixel(gridX) + (Map.GRID_SIZE - trainImage.getHeight()) / 2;
-            speed = -(rnd.nextDouble() * 1.0 + 50.0);
-
-            Obstacle obstacle = new Obstacle(playfieldLayer, trainImage, x, y, 0, speed, 0, 0, 1, 1);
-            obstacles.add(obstacle);
-        } else {
-            x = -trainImage.getWidth();
-            y = Map.gridToPixel(gridX) + (Map.GRID_SIZE - trainImage.getHeight()) / 2;
-            speed = rnd.nextDouble() * 1.0 + 50.0;
-
-            Obstacle obstacle = new Obstacle(playfieldLayer, trainImage, x, y, 0, speed, 0, 0, 1, 1);
-            obstacles.add(obstacle);
-        }
-    }
-
-    /**
-     * Spawns power ups.
-     */
-    private void spawnPowerUps() {
-        if (rnd.nextInt(Settings.POWERUP_SPAWN_RANDOMNESS) != 0) {
-            return;
-        }
-
-        // Choisir un type de power-up aléatoire
-        boolean isShield = rnd.nextBoolean();
-
-        int gridX = rnd.nextInt(Map.GRID_WIDTH);
-        int gridY = rnd.nextInt(Map.GRID_HEIGHT);
-
-        double x = Map.gridToPixel(gridX) + (Map.GRID_SIZE - doublePointPowerUpImage.getWidth()) / 2;
-        double y = Map.gridToPixel(gridY) + (Map.GRID_SIZE - doublePointPowerUpImage.getHeight()) / 2;
-
-        // Dont generate a power up on the player
-        for (Player player : players) {
-            if (player.getX() == x && player.getY() == y) {
-                return;
-            }
-        }
-
-        PowerUp powerUp;
-        if (isShield) {
-            powerUp = new ShieldPowerUp(playfieldLayer, shieldPowerUpImage, x, y);
-        } else {
-            powerUp = new DoublePointPowerUp(playfieldLayer, doublePointPowerUpImage, x, y);
-        }
-
-        powerUps.add(powerUp);
-    }
-
-    /**
-     * Removes obstacles from the list.
-     * 
-     * @param obstacleList The list of obstacles to remove.
-     */
-    private void removeObstacles(List<? extends Entity> obstacleList) {
-        Iterator<? extends Entity> iter = obstacleList.iterator();
-        while (iter.hasNext()) {
-            Entity obstacle = iter.next();
-
-            if (obstacle.isRemovable()) {
-
-                // remove from layer
-                obstacle.removeFromLayer();
-
-                // remove from list
-                iter.remove();
-            }
-        }
-    }
-
-    /**
-     * Checks for collisions between players and obstacles.
-     */
-    private void checkCollisions() {
-        collision = false;
-        for (Player player : players) {
-            for (Obstacle obstacle : obstacles) {
-                if (player.collidesWith(obstacle)) {
-                    collision = true;
-                    if (!isGameOver) {
-                        gameOver();
-                    }
-                }
-
-            }
-            for (PowerUp powerUp : powerUps) {
-                if (player.collidesWithPowerUps(player)) {
-                    powerUp.activate(player);
-                    powerUp.removeFromLayer();
-                    powerUps.remove(powerUp);
-                    break;
-                }
-            }
-
-        }
-    }
-
-    /**
-     * Schedules a task.
-     * 
-     * @param task The task to schedule.
-     * @param delay The delay.
-     */
-    public void scheduleTask(Runnable task, long delay) {
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                task.run();
-            }
-        }, delay);
+        world.createPlayer(controls);
     }
 
     /**
@@ -1,13 +1,38 @@
 package com.game;
 
+import java.util.Arrays;
 import java.util.BitSet;
 
+import com.game.sim.Controls;
+import com.game.sim.InputQueue;
+import com.game.sim.PlayerBody;
+import com.game.sim.World;
+
 import javafx.event.EventHandler;
 import javafx.scene.Scene;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 
-public class Input {
+/**
+ * Keyboard controls. The key event filters push every press and release of
+ * the moves into an {@link InputQueue} and the tick drains it, so a key
+ * tapped between two ticks still counts as pressed for one tick. With an
+ * input buffer a tap is kept for that long, and a hop tapped during the
+ * cooldown of the last one starts as soon as the cooldown ends.
+ * <p>
+ * Key repeats of a held key aren't queued, and presses leave a slot free for
+ * the release of every move key, so a release is never dropped and a key
+ * can't stay stuck down.
+ */
+public class Input implements Controls {
+
+    private static final int UP = 0;
+    private static final int DOWN = 1;
+    private static final int LEFT = 2;
+    private static final int RIGHT = 3;
+
+    // the move keys, the arrows and ZQSD
+    private static final int MOVE_KEYS = 8;
 
     /**
      * Bitset which registers if any {@link KeyCode} keeps being pressed or if it is
@@ -15,6 +40,22 @@ public class Input {
      */
     private BitSet keyboardBitSet = new BitSet();
 
+    private final InputQueue queue = new InputQueue(256, MOVE_KEYS);
+    private final InputQueue.Handler queueHandler = this::onKey;
+
+    // key event side only: the keys whose press was queued, and whose
+    // release must be
+    private final BitSet queuedKeys = new BitSet();
+
+    // tick side only
+    private final BitSet heldKeys = new BitSet();
+    private final long tapTicks;
+    private final long[] tapped = new long[4];
+    private final long[] pressOrder = new long[4];
+    private long presses = 0;
+    private long lastPressTime = 0;
+    private int state = 0;
+
     // -------------------------------------------------
     // default key codes
     // will vary when you let the user customize the key codes or when you add
@@ -31,12 +72,31 @@ public class Input {
     Scene scene;
 
     /**
-     * Constructor for the Input class.
+     * Constructor for the Input class, without input buffer.
      * 
      * @param scene The scene to add the input to.
      */
     public Input(Scene scene) {
+        this(scene, 0);
+    }
+
+    /**
+     * Constructor for the Input class.
+     * 
+     * @param scene        The scene to add the input to.
+     * @param bufferMillis How long a tapped move stays pressed, in
+     *                     milliseconds; 0 for a single tick.
+     * @throws IllegalArgumentException If the buffer is negative or as long
+     *                                  as the jump cooldown, which would
+     *                                  turn one tap into two hops.
+     */
+    public Input(Scene scene, double bufferMillis) {
+        if (bufferMillis < 0 || bufferMillis >= PlayerBody.JUMP_COOLDOWN) {
+            throw new IllegalArgumentException("input buffer must be in [0, " + PlayerBody.JUMP_COOLDOWN
+                    + ") ms: " + bufferMillis);
+        }
         this.scene = scene;
+        this.tapTicks = 1 + (long) Math.ceil(bufferMillis / World.STEP_MILLIS);
     }
 
     /**
@@ -66,8 +126,14 @@ public class Input {
         @Override
         public void handle(KeyEvent event) {
 
-            // register key down
-            keyboardBitSet.set(event.getCode().ordinal(), true);
+            // register key down; a key held down repeats its press, which
+            // isn't queued
+            int key = event.getCode().ordinal();
+            boolean repeat = keyboardBitSet.get(key);
+            keyboardBitSet.set(key, true);
+            if (!repeat && direction(key) >= 0 && queue.offer(System.nanoTime(), key, true)) {
+                queuedKeys.set(key);
+            }
 
         }
     };
@@ -79,26 +145,144 @@ public class Input {
         @Override
         public void handle(KeyEvent event) {
 
-            // register key up
-            keyboardBitSet.set(event.getCode().ordinal(), false);
+            // register key up; the slot of the release is reserved
+            int key = event.getCode().ordinal();
+            keyboardBitSet.set(key, false);
+            if (queuedKeys.get(key)) {
+                queuedKeys.clear(key);
+                queue.offer(System.nanoTime(), key, false);
+            }
 
         }
     };
 
+    /**
+     * Gets the move a key stands for.
+     * 
+     * @param key The ordinal of the key code.
+     * @return The move, or -1 if the key isn't a move.
+     */
+    private int direction(int key) {
+        if (key == upKey.ordinal() || key == KeyCode.Z.ordinal()) {
+            return UP;
+        } else if (key == downKey.ordinal() || key == KeyCode.S.ordinal()) {
+            return DOWN;
+        } else if (key == leftKey.ordinal() || key == KeyCode.Q.ordinal()) {
+            return LEFT;
+        } else if (key == rightKey.ordinal() || key == KeyCode.D.ordinal()) {
+            return RIGHT;
+        }
+        return -1;
+    }
+
+    /**
+     * Applies a key event drained from the queue.
+     * 
+     * @param time    When the event was received, in nanoseconds.
+     * @param key     The ordinal of the key code.
+     * @param pressed True if the key was pressed, false if it was released.
+     */
+    private void onKey(long time, int key, boolean pressed) {
+        int move = direction(key);
+        if (pressed) {
+            // a key held down repeats its press; only the first one is a tap
+            if (!heldKeys.get(key)) {
+                tapped[move] = tapTicks;
+                pressOrder[move] = ++presses;
+                lastPressTime = time;
+            }
+            heldKeys.set(key);
+        } else {
+            heldKeys.clear(key);
+        }
+    }
+
     // -------------------------------------------------
-    // Evaluate bitset of pressed keys and return the player input.
+    // Evaluate the moves held or tapped since the last tick.
     // If direction and its opposite direction are pressed simultaneously, then the
-    // direction isn't handled.
+    // one pressed last is handled.
     // -------------------------------------------------
 
+    /**
+     * Drains the key events received since the last tick and latches the
+     * moves for the coming tick.
+     */
+    @Override
+    public void poll() {
+        queue.drain(queueHandler);
+
+        int moves = 0;
+        for (int move = UP; move <= RIGHT; move++) {
+            if (tapped[move] > 0) {
+                tapped[move]--;
+                moves |= 1 << move;
+            }
+        }
+        moves |= held(UP, upKey, KeyCode.Z) | held(DOWN, downKey, KeyCode.S) | held(LEFT, leftKey, KeyCode.Q)
+                | held(RIGHT, rightKey, KeyCode.D);
+        state = resolve(resolve(moves, UP, DOWN), LEFT, RIGHT);
+    }
+
+    /**
+     * Gets the bit of a move if one of its keys is held.
+     * 
+     * @param move      The move.
+     * @param key       The configured key of the move.
+     * @param letterKey The letter key of the move.
+     * @return The bit of the move, or 0 if none of its keys is held.
+     */
+    private int held(int move, KeyCode key, KeyCode letterKey) {
+        return heldKeys.get(key.ordinal()) || heldKeys.get(letterKey.ordinal()) ? 1 << move : 0;
+    }
+
+    /**
+     * Keeps only the move pressed last of two opposite moves that are both
+     * set.
+     * 
+     * @param moves    The move bits.
+     * @param move     A move.
+     * @param opposite The opposite move.
+     * @return The move bits.
+     */
+    private int resolve(int moves, int move, int opposite) {
+        int both = 1 << move | 1 << opposite;
+        if ((moves & both) != both) {
+            return moves;
+        }
+        return moves & ~(1 << (pressOrder[move] > pressOrder[opposite] ? opposite : move));
+    }
+
+    /**
+     * Forgets the moves held, tapped or queued, for when the world stands
+     * still, paused or over, or restarts. A key still held has to be pressed
+     * again to move.
+     */
+    public void clear() {
+        queue.clear();
+        heldKeys.clear();
+        Arrays.fill(tapped, 0);
+        state = 0;
+    }
+
+    /**
+     * Gets when the last move was pressed, key repeats aside, as of the last
+     * tick.
+     * 
+     * @return The time of the last press in nanoseconds, or 0 if no move was
+     *         pressed yet.
+     */
+    public long getLastPressTime() {
+        return lastPressTime;
+    }
+
     /**
      * Checks if the player is moving up.
      * 
      * @return True if the player is moving up, false otherwise.
      */
+    @Override
     public boolean isMoveUp() {
-        return keyboardBitSet.get(upKey.ordinal())
-                || keyboardBitSet.get(KeyCode.Z.ordinal()) && !keyboardBitSet.get(downKey.ordinal());
+        return (state & 1 << UP) != 0;
     }
 
     /**
@@ -106,9 +290,9 @@ public class Input {
      * 
      * @return True if the player is moving down, false otherwise.
      */
+    @Override
     public boolean isMoveDown() {
-        return keyboardBitSet.get(downKey.ordinal())
-                || keyboardBitSet.get(KeyCode.S.ordinal()) && !keyboardBitSet.get(upKey.ordinal());
+        return (state & 1 << DOWN) != 0;
     }
 
     /**
@@ -116,9 +300,9 @@ public class Input {
      * 
      * @return True if the player is moving left, false otherwise.
      */
+    @Override
     public boolean isMoveLeft() {
-        return keyboardBitSet.get(leftKey.ordinal())
-                || keyboardBitSet.get(KeyCode.Q.ordinal()) && !keyboardBitSet.get(rightKey.ordinal());
+        return (state & 1 << LEFT) != 0;
     }
 
     /**
@@ -126,10 +310,9 @@ public class Input {
      * 
      * @return True if the player is moving right, false otherwise.
      */
+    @Override
     public boolean isMoveRight() {
-        return keyboardBitSet.get(rightKey.ordinal())
-                || keyboardBitSet.get(KeyCode.D.ordinal()) && !keyboardBitSet.get(leftKey.ordinal());
-
+        return (state & 1 << RIGHT) != 0;
     }
 
     /**
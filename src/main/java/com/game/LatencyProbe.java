@@ -0,0 +1,223 @@
+package com.game;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+
+import com.game.sim.LatencyHistogram;
+import com.game.sim.PlayerBody;
+
+import javafx.scene.Scene;
+
+/**
+ * Measures how long a key press takes to show up on screen. It follows the
+ * press from the timestamp the key event filter gives it, through the tick
+ * whose {@link PlayerBody#processInput()} starts the hop, to the first
+ * {@link WorldRenderer#updateUI(double)} that draws the hop, and then to the
+ * end of layout in that pulse, which is the last point before JavaFX renders
+ * the frame. It also counts how many pulses started between the press and the
+ * pulse that rendered it.
+ * <p>
+ * Only the first hop after a press is measured. Hops repeated while a key is
+ * held wait for the jump cooldown, not for the pipeline.
+ */
+public class LatencyProbe {
+
+    /**
+     * The stages a press goes through, each measured from the end of the one
+     * before.
+     */
+    public enum Stage {
+        TICK("to tick"),
+        UI("to ui"),
+        LAYOUT("to layout"),
+        TOTAL("total");
+
+        private final String label;
+
+        /**
+         * Constructor for the Stage enum.
+         *
+         * @param label The label shown in reports.
+         */
+        Stage(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Gets the label shown in reports.
+         *
+         * @return The label.
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final int PULSE_HISTORY = 64;
+    private static final int MAX_PULSES = 8;
+
+    private final Input input;
+    private final EnumMap<Stage, LatencyHistogram> histograms = new EnumMap<>(Stage.class);
+    private final long[] pulseCounts = new long[MAX_PULSES + 1];
+
+    private final long[] pulseStarts = new long[PULSE_HISTORY];
+    private long pulse = 0;
+
+    private PlayerBody lastPlayer;
+    private double lastJumpStart;
+    private long lastPress = Long.MIN_VALUE;
+
+    // the hop waiting to be drawn, 0 when there is none
+    private long pendingPress = 0;
+    private long pendingTick = 0;
+    private long pendingUi = 0;
+
+    /**
+     * Constructor for the LatencyProbe class.
+     *
+     * @param scene The scene the game is drawn in.
+     * @param input The keyboard controls of the player.
+     */
+    public LatencyProbe(Scene scene, Input input) {
+        this.input = input;
+        for (Stage stage : Stage.values()) {
+            histograms.put(stage, new LatencyHistogram());
+        }
+        scene.addPostLayoutPulseListener(this::onLayout);
+    }
+
+    /**
+     * Notes the start of a pulse. Called first thing in the game loop.
+     *
+     * @param time The current time in nanoseconds.
+     */
+    public void onPulse(long time) {
+        pulse++;
+        pulseStarts[(int) (pulse % PULSE_HISTORY)] = time;
+    }
+
+    /**
+     * Checks if the ticks of this pulse started a hop for a new press.
+     * Called after the ticks of the pulse.
+     *
+     * @param player The player steered with the keyboard.
+     * @param time   The current time in nanoseconds.
+     */
+    public void onTicks(PlayerBody player, long time) {
+        if (player != lastPlayer) {
+            lastPlayer = player;
+            lastJumpStart = player.getJumpStartTime();
+            return;
+        }
+        if (player.getJumpStartTime() == lastJumpStart) {
+            return;
+        }
+        lastJumpStart = player.getJumpStartTime();
+
+        long press = input.getLastPressTime();
+        if (press != lastPress && press != 0) {
+            lastPress = press;
+            pendingPress = press;
+            pendingTick = time;
+            pendingUi = 0;
+        }
+    }
+
+    /**
+     * Notes that the renderer drew this pulse. Called after
+     * {@link WorldRenderer#updateUI(double)}.
+     *
+     * @param time The current time in nanoseconds.
+     */
+    public void onUpdateUI(long time) {
+        if (pendingTick != 0 && pendingUi == 0) {
+            pendingUi = time;
+        }
+    }
+
+    /**
+     * Records the pending hop once the pulse that drew it is laid out.
+     */
+    private void onLayout() {
+        if (pendingUi == 0) {
+            return;
+        }
+        long end = System.nanoTime();
+        histograms.get(Stage.TICK).record(pendingTick - pendingPress);
+        histograms.get(Stage.UI).record(pendingUi - pendingTick);
+        histograms.get(Stage.LAYOUT).record(end - pendingUi);
+        histograms.get(Stage.TOTAL).record(end - pendingPress);
+
+        // pulses that started after the press, the one drawing it included
+        int pulses = 0;
+        while (pulses < Math.min(pulse, PULSE_HISTORY)
+                && pulseStarts[(int) ((pulse - pulses) % PULSE_HISTORY)] >= pendingPress) {
+            pulses++;
+        }
+        pulseCounts[Math.min(pulses, MAX_PULSES)]++;
+
+        pendingPress = 0;
+        pendingTick = 0;
+        pendingUi = 0;
+    }
+
+    /**
+     * Formats the p50, p90, p99 and max of every stage in milliseconds and how
+     * many pulses the presses took.
+     *
+     * @return The report.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT, "%-10s %7s %7s %7s %7s%n", "ms", "p50",
+                "p90", "p99", "max"));
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram histogram = histograms.get(stage);
+            out.append(String.format(Locale.ROOT, "%-10s %7.2f %7.2f %7.2f %7.2f%n", stage.getLabel(),
+                    histogram.getPercentile(0.5) / 1e6, histogram.getPercentile(0.9) / 1e6,
+                    histogram.getPercentile(0.99) / 1e6, histogram.getMax() / 1e6));
+        }
+        out.append("pulses    ");
+        for (int pulses = 0; pulses <= MAX_PULSES; pulses++) {
+            if (pulseCounts[pulses] > 0) {
+                out.append(String.format(Locale.ROOT, " %d%s:%d", pulses, pulses == MAX_PULSES ? "+" : "",
+                        pulseCounts[pulses]));
+            }
+        }
+        out.append(String.format(Locale.ROOT, " (%d presses)%n", histograms.get(Stage.TOTAL).getCount()));
+        return out.toString();
+    }
+
+    /**
+     * Writes the count, mean, p50, p90, p99 and max of every stage in
+     * milliseconds as CSV, then the number of presses per pulse count,
+     * replacing the file.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file can't be written.
+     */
+    public void writeCsv(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path); PrintWriter out = new PrintWriter(writer)) {
+            out.println("stage,count,mean_ms,p50_ms,p90_ms,p99_ms,max_ms");
+            for (Stage stage : Stage.values()) {
+                LatencyHistogram histogram = histograms.get(stage);
+                out.printf(Locale.ROOT, "%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n", stage.getLabel(), histogram.getCount(),
+                        histogram.getMean() / 1e6, histogram.getPercentile(0.5) / 1e6,
+                        histogram.getPercentile(0.9) / 1e6, histogram.getPercentile(0.99) / 1e6,
+                        histogram.getMax() / 1e6);
+            }
+            out.println();
+            out.println("pulses,presses");
+            for (int pulses = 0; pulses <= MAX_PULSES; pulses++) {
+                out.printf(Locale.ROOT, "%d%s,%d%n", pulses, pulses == MAX_PULSES ? "+" : "", pulseCounts[pulses]);
+            }
+            if (out.checkError()) {
+                throw new IOException("could not write " + path);
+            }
+        }
+    }
+}
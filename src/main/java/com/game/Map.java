@@ -1,5 +1,7 @@
 package com.game;
 
+import com.game.sim.Grid;
+
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
@@ -7,9 +9,9 @@ import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 
 public class Map {
-    public static final int GRID_SIZE = 80; // Size of each grid cell
-    public static final int GRID_WIDTH = (int) (Settings.SCENE_WIDTH / GRID_SIZE);
-    public static final int GRID_HEIGHT = (int) (Settings.SCENE_HEIGHT / GRID_SIZE);
+    public static final int GRID_SIZE = Grid.SIZE; // Size of each grid cell
+    public static final int GRID_WIDTH = Grid.WIDTH;
+    public static final int GRID_HEIGHT = Grid.HEIGHT;
 
     private Canvas gridCanvas;
     private double viewportY; // Track the viewport's Y position
@@ -20,7 +22,7 @@ public class Map {
 
     private static Map instance;
 
-    private Image backgroundSprite;
+    private TextureAtlas.Region backgroundSprite;
     private static final String BACKGROUND_PATH = "sprites/grass.png"; // Adjust path as needed
     private Canvas backgroundCanvas; // Separate canvas for background
 
@@ -39,48 +41,62 @@ public class Map {
      * @param layer The pane layer to add the grid canvas to.
      */
     public Map(Pane layer) {
+        this(layer, TextureAtlas.Region.of(new Image(Map.class.getResourceAsStream(BACKGROUND_PATH))));
+    }
+
+    /**
+     * Constructor for the Map class, with a background tile that is already
+     * loaded.
+     * 
+     * @param layer            The pane layer to add the grid canvas to.
+     * @param backgroundSprite The atlas region of the background tile.
+     */
+    public Map(Pane layer, TextureAtlas.Region backgroundSprite) {
         camera = new Camera();
-        // Load background sprite
-        backgroundSprite = new Image(getClass().getResourceAsStream(BACKGROUND_PATH));
+        this.backgroundSprite = backgroundSprite;
 
-        // Create background canvas and add it first
-        backgroundCanvas = new Canvas(Settings.SCENE_WIDTH, Settings.SCENE_HEIGHT);
+        // Create background canvas and add it first. Both canvases are one
+        // tile/grid cell taller than the screen, drawn once and then scrolled
+        // by translating the node, so the camera moving costs no redraw.
+        backgroundCanvas = new Canvas(Settings.SCENE_WIDTH, Settings.SCENE_HEIGHT + backgroundSprite.getHeight());
         layer.getChildren().add(0, backgroundCanvas);
 
-        // Add grid canvas above background
-        gridCanvas = new Canvas(Settings.SCENE_WIDTH, Settings.SCENE_HEIGHT);
+        // Add grid canvas above background, shown once the viewport follows the
+        // player
+        gridCanvas = new Canvas(Settings.SCENE_WIDTH, Settings.SCENE_HEIGHT + GRID_SIZE);
+        gridCanvas.setVisible(false);
         layer.getChildren().add(1, gridCanvas);
 
         viewportY = 0;
         drawBackground();
-        // drawGrid();
+        drawGrid();
         instance = this; // Store instance
     }
 
     /**
-     * Draws the grid on the grid canvas.
+     * Draws the grid on the grid canvas, once. Scrolling only moves the canvas.
      */
     private void drawGrid() {
+        double height = gridCanvas.getHeight();
         GraphicsContext gc = gridCanvas.getGraphicsContext2D();
-        gc.clearRect(0, 0, Settings.SCENE_WIDTH, Settings.SCENE_HEIGHT);
+        gc.clearRect(0, 0, Settings.SCENE_WIDTH, height);
         gc.setStroke(Color.LIGHTGRAY);
         gc.setLineWidth(1);
 
-        // Draw vertical lines, adjusted for viewport
+        // Draw vertical lines
         for (int x = 0; x <= Settings.SCENE_WIDTH; x += GRID_SIZE) {
-            gc.strokeLine(x, -viewportY % GRID_SIZE, x, Settings.SCENE_HEIGHT);
+            gc.strokeLine(x, 0, x, height);
         }
 
-        // Draw horizontal lines, adjusted for viewport
-        double firstY = -viewportY % GRID_SIZE;
-        for (double y = firstY; y <= Settings.SCENE_HEIGHT; y += GRID_SIZE) {
+        // Draw horizontal lines
+        for (double y = 0; y <= height; y += GRID_SIZE) {
             gc.strokeLine(0, y, Settings.SCENE_WIDTH, y);
         }
     }
 
     // Convert grid coordinates to pixel coordinates
     public static double gridToPixel(int gridPosition) {
-        return gridPosition * GRID_SIZE;
+        return Grid.gridToPixel(gridPosition);
     }
 
     /**
@@ -90,7 +106,7 @@ public class Map {
      * @return The grid position.
      */
     public static int pixelToGrid(double pixelPosition) {
-        return (int) (pixelPosition / GRID_SIZE);
+        return Grid.pixelToGrid(pixelPosition);
     }
 
     /**
@@ -100,7 +116,7 @@ public class Map {
      * @return The snapped position.
      */
     public static double snapToGrid(double position) {
-        return Math.round(position / GRID_SIZE) * GRID_SIZE;
+        return Grid.snapToGrid(position);
     }
 
     /**
@@ -112,6 +128,15 @@ public class Map {
         return scrollOffset;
     }
 
+    /**
+     * Gets the Y position of the camera, the world Y at the top of the screen.
+     * 
+     * @return The Y position of the camera.
+     */
+    public double getCameraY() {
+        return cameraY;
+    }
+
     /**
      * Updates the viewport and checks if the player is out of bounds.
      * 
@@ -122,9 +147,9 @@ public class Map {
         camera.update(playerY);
         cameraY = camera.getY();
 
-        // Redraw with new camera position
-        drawBackground();
-        drawGrid();
+        // Scroll the cached background and grid to the new camera position
+        scrollTo(cameraY);
+        gridCanvas.setVisible(true);
 
         // Player dies if they fall too far behind
         double screenY = camera.worldToScreen(playerY);
@@ -151,18 +176,50 @@ public class Map {
         return screenX + getInstance().cameraX;
     }
 
-    private void drawBackground() {
+    /**
+     * Tiles the background canvas with the grass sprite, once. Scrolling only
+     * moves the canvas.
+     */
+    void drawBackground() {
+        double height = backgroundCanvas.getHeight();
         GraphicsContext gc = backgroundCanvas.getGraphicsContext2D();
-        gc.clearRect(0, 0, Settings.SCENE_WIDTH, Settings.SCENE_HEIGHT);
-
-        double offsetY = cameraY % backgroundSprite.getHeight();
-        for (int x = 0; x < Settings.SCENE_WIDTH; x += backgroundSprite.getWidth()) {
-            for (double y = -offsetY; y < Settings.SCENE_HEIGHT; y += backgroundSprite.getHeight()) {
-                gc.drawImage(backgroundSprite, x, y);
+        gc.clearRect(0, 0, Settings.SCENE_WIDTH, height);
+
+        Image image = backgroundSprite.getImage();
+        double w = backgroundSprite.getWidth();
+        double h = backgroundSprite.getHeight();
+        for (int x = 0; x < Settings.SCENE_WIDTH; x += w) {
+            for (double y = 0; y < height; y += h) {
+                gc.drawImage(image, backgroundSprite.getX(), backgroundSprite.getY(), w, h, x, y, w, h);
             }
         }
     }
 
+    /**
+     * Scrolls the background and grid to the camera position. Both repeat
+     * every tile/grid cell, so shifting the pre-drawn canvases by the camera
+     * position modulo that period shows exactly what a full redraw would.
+     * 
+     * @param cameraY The Y position of the camera.
+     */
+    void scrollTo(double cameraY) {
+        backgroundCanvas.setTranslateY(-floorMod(cameraY, backgroundSprite.getHeight()));
+        gridCanvas.setTranslateY(-floorMod(cameraY, GRID_SIZE));
+    }
+
+    /**
+     * Computes the remainder of a division, always positive, so the camera
+     * moving above the origin scrolls the same way as below it.
+     * 
+     * @param value  The value to divide.
+     * @param period The period.
+     * @return The remainder in [0, period).
+     */
+    private static double floorMod(double value, double period) {
+        double mod = value % period;
+        return mod < 0 ? mod + period : mod;
+    }
+
     /**
      * Resets the viewport.
      */
@@ -12,6 +12,43 @@ public class Settings {
     public static double PLAYER_MISSILE_HEALTH = 200.0;
 
     public static int ENEMY_SPAWN_RANDOMNESS = 100;
+    public static int TRAIN_SPAWN_RANDOMNESS = 300;
+    public static int LOG_SPAWN_RANDOMNESS = 60;
     public static int POWERUP_SPAWN_RANDOMNESS = 100;
+    public static double POWERUP_LIFETIME = 8000; // milliseconds an uncollected power up stays
+
+    // "nodes" draws one image view per body, "canvas" draws all bodies on one
+    // canvas; can be overridden with --render=canvas on the command line
+    public static String RENDER_MODE = "nodes";
+
+    // CSV file the frame phase timings are written to on exit, none if null;
+    // can be overridden with --profile=timings.csv on the command line
+    public static String PROFILE_FILE = null;
+
+    // CSV file the input to screen latency of hops is written to on exit,
+    // none and not measured if null; can be overridden with
+    // --latency=latency.csv on the command line
+    public static String LATENCY_FILE = null;
+
+    // spawn cars, trains and logs only on generated road, rail and river
+    // lanes, streamed in chunks ahead of the camera; can be overridden with
+    // --endless-lanes=true on the command line
+    public static boolean ENDLESS_LANES = false;
+
+    // milliseconds a tapped move stays pressed, so a hop tapped during the
+    // cooldown of the last one isn't lost; 0 keeps a tap for one tick. Must be
+    // shorter than the jump cooldown. Can be overridden with
+    // --input-buffer=120 on the command line
+    public static double INPUT_BUFFER = 0;
+
+    // simulation ticks per second, independent of the display refresh rate
+    public static int TICK_RATE = 120;
+
+    // obstacle speeds in pixels per second
+    public static double CAR_SPEED = 480.0;
+    public static double CAR_SPEED_VARIATION = 60.0;
+    public static double TRAIN_SPEED = 3000.0;
+    public static double TRAIN_SPEED_VARIATION = 60.0;
+    public static double LOG_SPEED = 180.0;
 
 }
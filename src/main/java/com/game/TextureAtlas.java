@@ -0,0 +1,202 @@
+package com.game;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Every sprite packed into a single image, with the region each one occupies.
+ * Drawing sub-regions of one texture lets Prism batch the draws of a frame
+ * instead of switching textures between sprites.
+ * <p>
+ * Sprites are packed on shelves, tallest first, with a transparent pixel
+ * around each one so smoothing never samples a neighbour.
+ */
+public class TextureAtlas {
+
+    private static final int PADDING = 1;
+    private static final int MIN_WIDTH = 1024;
+
+    private final Image image;
+    private final EnumMap<Asset, Region> regions;
+
+    /**
+     * Constructor for the TextureAtlas class.
+     *
+     * @param image   The packed image.
+     * @param regions The region of each asset in the image.
+     */
+    private TextureAtlas(Image image, EnumMap<Asset, Region> regions) {
+        this.image = image;
+        this.regions = regions;
+    }
+
+    /**
+     * Packs loaded images into an atlas.
+     *
+     * @param images The loaded image of each asset.
+     * @return The atlas.
+     */
+    public static TextureAtlas pack(EnumMap<Asset, Image> images) {
+        List<Asset> order = new ArrayList<>(images.keySet());
+        order.sort(Comparator.comparingDouble((Asset asset) -> images.get(asset).getHeight()).reversed());
+
+        int width = MIN_WIDTH;
+        for (Image image : images.values()) {
+            width = Math.max(width, (int) image.getWidth() + 2 * PADDING);
+        }
+
+        // place the sprites left to right, starting a shelf below the
+        // previous one when a sprite doesn't fit
+        EnumMap<Asset, int[]> places = new EnumMap<>(Asset.class);
+        int x = 0;
+        int y = 0;
+        int shelfHeight = 0;
+        for (Asset asset : order) {
+            Image image = images.get(asset);
+            int w = (int) image.getWidth() + 2 * PADDING;
+            int h = (int) image.getHeight() + 2 * PADDING;
+            if (x + w > width) {
+                x = 0;
+                y += shelfHeight;
+                shelfHeight = 0;
+            }
+            places.put(asset, new int[] { x + PADDING, y + PADDING });
+            x += w;
+            shelfHeight = Math.max(shelfHeight, h);
+        }
+
+        WritableImage atlas = new WritableImage(width, Math.max(y + shelfHeight, 1));
+        EnumMap<Asset, Region> regions = new EnumMap<>(Asset.class);
+        for (Asset asset : order) {
+            Image image = images.get(asset);
+            PixelReader reader = image.getPixelReader();
+            if (reader == null) {
+                throw new RuntimeException("could not read the pixels of " + asset.getPath());
+            }
+            int w = (int) image.getWidth();
+            int h = (int) image.getHeight();
+            int[] argb = new int[w * h];
+            reader.getPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), argb, 0, w);
+
+            int[] place = places.get(asset);
+            atlas.getPixelWriter().setPixels(place[0], place[1], w, h, PixelFormat.getIntArgbInstance(), argb, 0, w);
+            regions.put(asset, new Region(atlas, place[0], place[1], w, h));
+        }
+        return new TextureAtlas(atlas, regions);
+    }
+
+    /**
+     * Gets the packed image.
+     *
+     * @return The packed image.
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * Gets the region of an asset.
+     *
+     * @param asset The asset.
+     * @return The region of the asset.
+     * @throws IllegalArgumentException If the asset wasn't packed.
+     */
+    public Region getRegion(Asset asset) {
+        Region region = regions.get(asset);
+        if (region == null) {
+            throw new IllegalArgumentException(asset + " is not in the atlas");
+        }
+        return region;
+    }
+
+    /**
+     * A rectangle of an image, drawn as if it were an image of its own.
+     */
+    public static class Region {
+
+        private final Image image;
+        private final int x;
+        private final int y;
+        private final int width;
+        private final int height;
+
+        /**
+         * Constructor for the Region class.
+         *
+         * @param image  The image the region is part of.
+         * @param x      The left edge of the region in the image.
+         * @param y      The top edge of the region in the image.
+         * @param width  The width of the region.
+         * @param height The height of the region.
+         */
+        public Region(Image image, int x, int y, int width, int height) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * Creates a region covering a whole image.
+         *
+         * @param image The loaded image.
+         * @return The region.
+         */
+        public static Region of(Image image) {
+            return new Region(image, 0, 0, (int) image.getWidth(), (int) image.getHeight());
+        }
+
+        /**
+         * Gets the image the region is part of.
+         *
+         * @return The image.
+         */
+        public Image getImage() {
+            return image;
+        }
+
+        /**
+         * Gets the left edge of the region in the image.
+         *
+         * @return The X position.
+         */
+        public int getX() {
+            return x;
+        }
+
+        /**
+         * Gets the top edge of the region in the image.
+         *
+         * @return The Y position.
+         */
+        public int getY() {
+            return y;
+        }
+
+        /**
+         * Gets the width of the region.
+         *
+         * @return The width.
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * Gets the height of the region.
+         *
+         * @return The height.
+         */
+        public int getHeight() {
+            return height;
+        }
+    }
+}
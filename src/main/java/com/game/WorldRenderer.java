@@ -0,0 +1,36 @@
+package com.game;
+
+import com.game.sim.Sprite;
+import com.game.sim.WorldListener;
+
+/**
+ * Draws the bodies of a {@link com.game.sim.World} on the playfield layer.
+ * Bodies stay in world coordinates; the camera is applied once per frame with
+ * {@link #scrollTo(double)}, so scrolling costs the same however many bodies
+ * there are.
+ */
+public interface WorldRenderer extends WorldListener {
+
+    /**
+     * Sets the atlas region bodies of the given sprite are drawn with.
+     *
+     * @param sprite The sprite.
+     * @param region The region of the sprite.
+     */
+    void setRegion(Sprite sprite, TextureAtlas.Region region);
+
+    /**
+     * Draws every body at its position blended between the last two ticks.
+     *
+     * @param alpha How far the frame is past the last tick, in [0, 1].
+     */
+    void updateUI(double alpha);
+
+    /**
+     * Moves the view so the given world Y is at the top of the screen.
+     *
+     * @param cameraY The Y position of the camera in the world.
+     */
+    void scrollTo(double cameraY);
+
+}
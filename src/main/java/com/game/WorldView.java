@@ -0,0 +1,118 @@
+package com.game;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+
+import com.game.sim.Body;
+import com.game.sim.Sprite;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+
+/**
+ * Mirrors the bodies of a {@link com.game.sim.World} into one image view each
+ * on the playfield layer. The world itself never sees a JavaFX type.
+ * <p>
+ * Views of removed bodies are hidden and kept per sprite rather than detached,
+ * so spawning and removing bodies doesn't churn the scene graph.
+ * <p>
+ * The views sit at world coordinates in one group, and scrolling translates
+ * the group instead of relocating every view.
+ */
+public class WorldView implements WorldRenderer {
+
+    private final Group bodies = new Group();
+
+    private final EnumMap<Sprite, TextureAtlas.Region> regions = new EnumMap<>(Sprite.class);
+    private final IdentityHashMap<Body, ImageView> views = new IdentityHashMap<>();
+    private final EnumMap<Sprite, ArrayDeque<ImageView>> hiddenViews = new EnumMap<>(Sprite.class);
+
+    /**
+     * Constructor for the WorldView class.
+     *
+     * @param layer The pane layer to add the image views to.
+     */
+    public WorldView(Pane layer) {
+        layer.getChildren().add(bodies);
+    }
+
+    /**
+     * Sets the atlas region bodies of the given sprite are drawn with.
+     *
+     * @param sprite The sprite.
+     * @param region The region of the sprite.
+     */
+    @Override
+    public void setRegion(Sprite sprite, TextureAtlas.Region region) {
+        regions.put(sprite, region);
+    }
+
+    /**
+     * Shows an image view for the spawned body, reusing a hidden one of the
+     * same sprite if there is one.
+     *
+     * @param body The spawned body.
+     */
+    @Override
+    public void onSpawn(Body body) {
+        ArrayDeque<ImageView> hidden = hiddenViews.get(body.getSprite());
+        ImageView imageView = hidden == null ? null : hidden.pollFirst();
+        if (imageView == null) {
+            imageView = new ImageView();
+            TextureAtlas.Region region = regions.get(body.getSprite());
+            if (region != null) {
+                imageView.setImage(region.getImage());
+                imageView.setViewport(
+                        new Rectangle2D(region.getX(), region.getY(), region.getWidth(), region.getHeight()));
+            }
+            bodies.getChildren().add(imageView);
+        }
+        imageView.relocate(body.getX(), body.getY());
+        imageView.setRotate(body.getR());
+        imageView.setVisible(true);
+        views.put(body, imageView);
+    }
+
+    /**
+     * Hides the image view of the removed body and keeps it for the next spawn
+     * of the same sprite.
+     *
+     * @param body The removed body.
+     */
+    @Override
+    public void onRemove(Body body) {
+        ImageView imageView = views.remove(body);
+        if (imageView != null) {
+            imageView.setVisible(false);
+            hiddenViews.computeIfAbsent(body.getSprite(), sprite -> new ArrayDeque<>()).addFirst(imageView);
+        }
+    }
+
+    /**
+     * Moves every image view to the position of its body, blended between the
+     * last two ticks.
+     *
+     * @param alpha How far the frame is past the last tick, in [0, 1].
+     */
+    @Override
+    public void updateUI(double alpha) {
+        views.forEach((body, imageView) -> {
+            imageView.relocate(body.getRenderX(alpha), body.getRenderY(alpha));
+            imageView.setRotate(body.getRenderR(alpha));
+        });
+    }
+
+    /**
+     * Translates the group of views so the given world Y is at the top of
+     * the screen.
+     *
+     * @param cameraY The Y position of the camera in the world.
+     */
+    @Override
+    public void scrollTo(double cameraY) {
+        bodies.setTranslateY(-cameraY);
+    }
+}
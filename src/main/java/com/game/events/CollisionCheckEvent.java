@@ -0,0 +1,37 @@
+package com.game.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The collision pass of a tick, timed.
+ */
+@Name("com.game.CollisionCheck")
+@Label("Collision Check")
+@Category({ "Crossy Road", "World" })
+@Description("Collision checks of players against obstacles and power ups during a tick")
+@StackTrace(false)
+public class CollisionCheckEvent extends Event {
+
+    @Label("Players")
+    public int players;
+
+    @Label("Obstacles")
+    @Description("Obstacles in the world")
+    public int obstacles;
+
+    @Label("Candidates")
+    @Description("Obstacles the lane index handed to the exact test")
+    public int candidates;
+
+    @Label("Power Ups")
+    public int powerUps;
+
+    @Label("Hit")
+    @Description("Whether a player was hit")
+    public boolean hit;
+}
@@ -0,0 +1,45 @@
+package com.game.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One frame of the game loop, timed, with the time of its phases.
+ */
+@Name("com.game.Frame")
+@Label("Frame")
+@Category({ "Crossy Road", "Engine" })
+@Description("One pass of the game loop")
+@StackTrace(false)
+public class FrameEvent extends Event {
+
+    @Label("Ticks")
+    @Description("Simulation ticks run to catch up")
+    public int ticks;
+
+    @Label("Obstacles")
+    public int obstacles;
+
+    @Label("Power Ups")
+    public int powerUps;
+
+    @Label("Step Time")
+    @Description("Time spent stepping the world")
+    @Timespan(Timespan.NANOSECONDS)
+    public long stepTime;
+
+    @Label("UI Sync Time")
+    @Description("Time spent moving the scene graph to the world")
+    @Timespan(Timespan.NANOSECONDS)
+    public long uiSyncTime;
+
+    @Label("Score Time")
+    @Description("Time spent updating the score text")
+    @Timespan(Timespan.NANOSECONDS)
+    public long scoreTime;
+}
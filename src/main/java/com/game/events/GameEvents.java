@@ -0,0 +1,26 @@
+package com.game.events;
+
+/**
+ * Loads the Flight Recorder event classes ahead of time.
+ */
+public final class GameEvents {
+
+    private GameEvents() {
+    }
+
+    /**
+     * Loads and registers every game event. The first event class loaded
+     * starts up the recorder support in the JVM, which takes a few hundred
+     * milliseconds; done lazily, that lands in the first tick that emits an
+     * event and shows up as a dropped frame.
+     */
+    public static void preload() {
+        new FrameEvent().shouldCommit();
+        new CollisionCheckEvent().shouldCommit();
+        new ObstacleSpawnEvent().shouldCommit();
+        new ObstacleRemovalEvent().shouldCommit();
+        new PowerUpActivationEvent().shouldCommit();
+        new GameOverEvent().shouldCommit();
+        new RestartEvent().shouldCommit();
+    }
+}
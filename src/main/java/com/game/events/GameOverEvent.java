@@ -0,0 +1,34 @@
+package com.game.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A session ended.
+ */
+@Name("com.game.GameOver")
+@Label("Game Over")
+@Category({ "Crossy Road", "Gameplay" })
+@Description("A session ended")
+@StackTrace(false)
+public class GameOverEvent extends Event {
+
+    @Label("Seed")
+    @Description("Seed of the session, to replay it")
+    public long seed;
+
+    @Label("Tick")
+    @Description("Tick the session ended on")
+    public long tick;
+
+    @Label("Score")
+    public int score;
+
+    @Label("Obstacles")
+    @Description("Obstacles in the world at the end")
+    public int obstacles;
+}
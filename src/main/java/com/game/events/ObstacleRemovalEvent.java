@@ -0,0 +1,27 @@
+package com.game.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Obstacles that left the screen or were hit through a shield were removed
+ * during a tick.
+ */
+@Name("com.game.ObstacleRemoval")
+@Label("Obstacle Removal")
+@Category({ "Crossy Road", "World" })
+@Description("Obstacles removed during a tick")
+@StackTrace(false)
+public class ObstacleRemovalEvent extends Event {
+
+    @Label("Removed")
+    public int removed;
+
+    @Label("Obstacles")
+    @Description("Obstacles left in the world")
+    public int obstacles;
+}
@@ -0,0 +1,34 @@
+package com.game.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An obstacle entered the world.
+ */
+@Name("com.game.ObstacleSpawn")
+@Label("Obstacle Spawn")
+@Category({ "Crossy Road", "World" })
+@Description("An obstacle entered the world")
+@StackTrace(false)
+public class ObstacleSpawnEvent extends Event {
+
+    @Label("Sprite")
+    public String sprite;
+
+    @Label("Lane")
+    @Description("Grid row the obstacle drives in")
+    public int lane;
+
+    @Label("Reused")
+    @Description("Whether the obstacle came from the pool")
+    public boolean reused;
+
+    @Label("Obstacles")
+    @Description("Obstacles in the world after the spawn")
+    public int obstacles;
+}
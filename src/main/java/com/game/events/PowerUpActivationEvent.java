@@ -0,0 +1,29 @@
+package com.game.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A player picked up a power up.
+ */
+@Name("com.game.PowerUpActivation")
+@Label("Power Up Activation")
+@Category({ "Crossy Road", "Gameplay" })
+@Description("A player picked up a power up")
+@StackTrace(false)
+public class PowerUpActivationEvent extends Event {
+
+    @Label("Sprite")
+    public String sprite;
+
+    @Label("Tick")
+    public long tick;
+
+    @Label("Score")
+    @Description("Score after the activation")
+    public int score;
+}
@@ -0,0 +1,30 @@
+package com.game.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The world was reset for a new session.
+ */
+@Name("com.game.Restart")
+@Label("Restart")
+@Category({ "Crossy Road", "Gameplay" })
+@Description("The world was reset for a new session")
+@StackTrace(false)
+public class RestartEvent extends Event {
+
+    @Label("Seed")
+    @Description("Seed of the new session")
+    public long seed;
+
+    @Label("Previous Ticks")
+    @Description("Ticks the previous session ran")
+    public long previousTicks;
+
+    @Label("Previous Score")
+    public int previousScore;
+}
@@ -1,27 +1,21 @@
 package com.game.powerUp;
 
-import com.game.Player;
-
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.Pane;
+import com.game.sim.PlayerBody;
+import com.game.sim.Sprite;
 
 public class ClockPowerUp extends PowerUp {
 
-    public ClockPowerUp(Pane layer, Image image, double x, double y) {
-        super(x, y);
-        ImageView view = new ImageView(image);
-        view.setX(x);
-        view.setY(y);
-        setVanish(view);
-        layer.getChildren().add(view);
+    private static final double HITBOX_SCALE = 0.8;
+
+    public ClockPowerUp(double x, double y, double w, double h, long lifetime) {
+        super(Sprite.CLOCK, HITBOX_SCALE, x, y, w, h, lifetime);
     }
 
     @Override
-    public void activate(Player player) {
+    public void activate(PlayerBody player) {
         player.activatePowerUp(this);
         // TODO we have to make the method to set (speed/2)
-        // player.getGame().scheduleTask(() -> player.setClock(false), 10000);
+        // player.getWorld().scheduleTask(() -> player.setClock(false), 10000);
 
     }
 }
@@ -1,26 +1,20 @@
 package com.game.powerUp;
 
-import com.game.Player;
-
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.Pane;
+import com.game.sim.PlayerBody;
+import com.game.sim.Sprite;
 
 public class DoublePointPowerUp extends PowerUp {
 
-    public DoublePointPowerUp(Pane layer, Image image, double x, double y) {
-        super(x, y);
-        ImageView view = new ImageView(image);
-        view.setX(x);
-        view.setY(y);
-        setVanish(view);
-        layer.getChildren().add(view);
+    private static final double HITBOX_SCALE = 0.8;
+
+    public DoublePointPowerUp(double x, double y, double w, double h, long lifetime) {
+        super(Sprite.DOUBLE_POINT, HITBOX_SCALE, x, y, w, h, lifetime);
     }
 
     @Override
-    public void activate(Player player) {
+    public void activate(PlayerBody player) {
         player.activatePowerUp(this);
-        player.getGame().scheduleTask(() -> player.setDoublePoints(false), 10000);
+        player.expireDoublePointsIn(10000);
 
     }
 }
@@ -1,40 +1,68 @@
 package com.game.powerUp;
 
-import com.game.Game;
-import com.game.Player;
+import com.game.sim.Body;
+import com.game.sim.PlayerBody;
+import com.game.sim.Sprite;
 
-import javafx.scene.Node;
-import javafx.scene.layout.Pane;
-
-public abstract class PowerUp extends Game {
-    protected double x, y;
+public abstract class PowerUp extends Body {
     protected boolean collected;
-    protected Node vanish;
 
-    public PowerUp(double x, double y) {
-        this.x = x;
-        this.y = y;
+    /**
+     * Share of the sprite size, centered on it, that the player has to touch
+     * to pick the power up. Keeps the transparent corners of the icon out of
+     * the pickup area.
+     */
+    private final double hitboxScale;
+
+    private long ticksLeft;
+
+    /**
+     * Constructor for the PowerUp class.
+     *
+     * @param sprite      The sprite of the power up.
+     * @param hitboxScale The share of the sprite size used as pickup hitbox.
+     * @param x           The X position of the power up.
+     * @param y           The Y position of the power up.
+     * @param w           The width of the power up.
+     * @param h           The height of the power up.
+     * @param lifetime    The number of ticks the power up stays if nobody
+     *                    picks it up.
+     */
+    public PowerUp(Sprite sprite, double hitboxScale, double x, double y, double w, double h, long lifetime) {
+        super(sprite, x, y, w, h, 0, 0);
+        this.hitboxScale = hitboxScale;
         this.collected = false;
+        this.ticksLeft = lifetime;
     }
 
-    public void setVanish(Node vanish) {
-        this.vanish = vanish;
+    /**
+     * Puts a pooled power up back on the map as if it had just been created.
+     *
+     * @param x        The X position of the power up.
+     * @param y        The Y position of the power up.
+     * @param w        The width of the power up.
+     * @param h        The height of the power up.
+     * @param lifetime The number of ticks the power up stays if nobody picks
+     *                 it up.
+     */
+    public void reset(double x, double y, double w, double h, long lifetime) {
+        setX(x);
+        setY(y);
+        resize(w, h);
+        setRemovable(false);
+        savePosition();
+        this.collected = false;
+        this.ticksLeft = lifetime;
     }
 
     public void vanish() {
         if (!collected) {
             collected = true;
-            removeFromLayer();
-        }
-    }
-
-    public void removeFromLayer() {
-        if (vanish != null) {
-            ((Pane) vanish.getParent()).getChildren().remove(vanish);
+            remove();
         }
     }
 
-    public abstract void activate(Player player);
+    public abstract void activate(PlayerBody player);
 
     public void deactivate() {
         this.collected = false;
@@ -44,11 +72,41 @@ public abstract class PowerUp extends Game {
         return collected;
     }
 
-    public double getX() {
-        return x;
+    /**
+     * Checks if the body touches the pickup hitbox of the power up.
+     *
+     * @param body The body picking the power up.
+     * @return True if the body picks the power up, false otherwise.
+     */
+    public boolean isPickedUpBy(Body body) {
+        double hw = getWidth() * hitboxScale;
+        double hh = getHeight() * hitboxScale;
+        double hx = getX() + (getWidth() - hw) * 0.5;
+        double hy = getY() + (getHeight() - hh) * 0.5;
+
+        return (body.getX() + body.getWidth() >= hx && body.getY() + body.getHeight() >= hy
+                && body.getX() <= hx + hw && body.getY() <= hy + hh);
+    }
+
+    /**
+     * Power ups stand still; a tick only counts down their lifetime.
+     */
+    @Override
+    public void move() {
+        if (ticksLeft > 0) {
+            ticksLeft--;
+        }
     }
 
-    public double getY() {
-        return y;
+    /**
+     * Power ups are removed once they are collected or their lifetime ran out.
+     *
+     * @param viewTop The world Y at the top of the view.
+     */
+    @Override
+    public void checkRemovability(double viewTop) {
+        if (collected || ticksLeft <= 0) {
+            setRemovable(true);
+        }
     }
 }
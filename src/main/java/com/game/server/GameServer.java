@@ -0,0 +1,334 @@
+package com.game.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.game.Settings;
+
+/**
+ * Hosts many independent games without a window. The server owns every game:
+ * it picks the seed, runs the world at the tick rate and reports the score,
+ * and clients only send the moves they hold, so a score it reports can go on
+ * a leaderboard as is.
+ * <p>
+ * One thread multiplexes every connection with a selector; the sessions are
+ * spread over a few {@link SessionWorker} threads that step them. See
+ * {@link Protocol} for the messages.
+ * <p>
+ * Usage: {@code java -cp target/classes com.game.server.GameServer
+ * [--port=7777] [--threads=N] [--seed=S]}
+ */
+public class GameServer {
+
+    private final InetSocketAddress address;
+    private final SessionWorker[] workers;
+    private final SplittableRandom seeds;
+
+    private final ConcurrentLinkedQueue<Session> flushQueue = new ConcurrentLinkedQueue<>();
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread networkThread;
+    private volatile boolean running = false;
+
+    private volatile long sessionsStarted = 0;
+    private volatile long gamesOver = 0;
+
+    /**
+     * Constructor for the GameServer class.
+     *
+     * @param address The address to listen on, port 0 for any free port.
+     * @param threads The number of threads stepping sessions.
+     * @param seed    The seed the seeds of the games are drawn from.
+     * @throws IllegalArgumentException If there are no threads.
+     */
+    public GameServer(InetSocketAddress address, int threads, long seed) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+        this.address = address;
+        this.workers = new SessionWorker[threads];
+        this.seeds = new SplittableRandom(seed);
+    }
+
+    /**
+     * Starts listening and stepping sessions.
+     *
+     * @throws IOException If the address can't be listened on.
+     */
+    public void start() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(address, 1024);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new SessionWorker(this);
+            Thread thread = new Thread(workers[i], "session-worker-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        networkThread = new Thread(this::runNetwork, "game-server-network");
+        networkThread.setDaemon(true);
+        networkThread.start();
+    }
+
+    /**
+     * Stops the server, closing every connection.
+     *
+     * @throws InterruptedException If interrupted while waiting for the
+     *                              network thread.
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        for (SessionWorker worker : workers) {
+            worker.stop();
+        }
+        selector.wakeup();
+        networkThread.join();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The port.
+     * @throws IOException If the port can't be read.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Queues a session whose messages are ready to send. Called by the
+     * workers, which wake the network thread once per pass.
+     *
+     * @param session The session.
+     */
+    void requestFlush(Session session) {
+        if (session.flushQueued.compareAndSet(false, true)) {
+            flushQueue.add(session);
+        }
+    }
+
+    /**
+     * Wakes the network thread to send the queued messages.
+     */
+    void wakeup() {
+        selector.wakeup();
+    }
+
+    /**
+     * Accepts connections, reads input and writes messages until stopped.
+     */
+    private void runNetwork() {
+        try {
+            while (running) {
+                selector.select();
+
+                Session session;
+                while ((session = flushQueue.poll()) != null) {
+                    session.flushQueued.set(false);
+                    flush(session);
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    session = (Session) key.attachment();
+                    if (key.isReadable()) {
+                        read(session);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        flush(session);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("game server stopped: " + e.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                try {
+                    key.channel().close();
+                } catch (IOException e) {
+                    // closing anyway
+                }
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // closing anyway
+            }
+        }
+    }
+
+    /**
+     * Accepts a connection and hands its session to the workers in turn.
+     *
+     * @throws IOException If the server socket failed.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+        long id = sessionsStarted++;
+        Session session = new Session(id, channel, seeds.nextLong());
+        channel.register(selector, SelectionKey.OP_READ, session);
+        flush(session);
+        workers[(int) (id % workers.length)].add(session);
+    }
+
+    /**
+     * Reads the input of a session, closing it if the client left or broke
+     * the protocol.
+     *
+     * @param session The session.
+     */
+    private void read(Session session) {
+        try {
+            if (!session.read()) {
+                session.close();
+            }
+        } catch (IOException | IllegalStateException e) {
+            session.close();
+        }
+    }
+
+    /**
+     * Writes the queued messages of a session, watching for the connection to
+     * take more if they don't all fit, and closes the session once the end of
+     * its game is sent.
+     *
+     * @param session The session.
+     */
+    private void flush(Session session) {
+        SelectionKey key = session.channel.keyFor(selector);
+        if (key == null || !key.isValid()) {
+            return;
+        }
+        try {
+            boolean done = session.flush();
+            key.interestOps(done ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            if (done && session.isOver()) {
+                gamesOver++;
+                session.close();
+            }
+        } catch (IOException e) {
+            session.close();
+        }
+    }
+
+    /**
+     * Formats the number of sessions and how busy the workers are.
+     *
+     * @param elapsedNanos The time the server ran for.
+     * @return The report.
+     */
+    public String format(long elapsedNanos) {
+        StringBuilder out = new StringBuilder();
+        int sessions = 0;
+        long busy = 0;
+        long passes = 0;
+        long late = 0;
+        long dropped = 0;
+        for (SessionWorker worker : workers) {
+            sessions += worker.getSessionCount();
+            busy += worker.getBusyNanos();
+            passes += worker.getPasses();
+            late += worker.getLatePasses();
+            dropped += worker.getDroppedTicks();
+        }
+        out.append(String.format(Locale.ROOT, "%d sessions running, %d started, %d games over%n", sessions,
+                sessionsStarted, gamesOver));
+        out.append(String.format(Locale.ROOT,
+                "%d workers: %.0f passes/s each (tick rate %d), %d late, %d ticks dropped, %.1f%% busy%n",
+                workers.length, passes / (elapsedNanos / 1e9) / workers.length, Settings.TICK_RATE, late, dropped,
+                100.0 * busy / elapsedNanos / workers.length));
+        return out.toString();
+    }
+
+    /**
+     * Gets the number of sessions being stepped.
+     *
+     * @return The number of sessions.
+     */
+    public int getSessionCount() {
+        int sessions = 0;
+        for (SessionWorker worker : workers) {
+            sessions += worker.getSessionCount();
+        }
+        return sessions;
+    }
+
+    /**
+     * Gets the time the workers spent stepping sessions.
+     *
+     * @return The busy time in nanoseconds, summed over the workers.
+     */
+    public long getBusyNanos() {
+        long busy = 0;
+        for (SessionWorker worker : workers) {
+            busy += worker.getBusyNanos();
+        }
+        return busy;
+    }
+
+    /**
+     * Runs the server until the process is killed, printing a report every
+     * ten seconds.
+     *
+     * @param args The options.
+     * @throws IOException          If the port can't be listened on.
+     * @throws InterruptedException If interrupted.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = 7777;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(value(arg));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(value(arg));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value(arg));
+            } else {
+                throw new IllegalArgumentException("unknown option " + arg);
+            }
+        }
+
+        GameServer server = new GameServer(new InetSocketAddress(port), threads, seed);
+        server.start();
+        System.out.printf("listening on port %d with %d workers%n", server.getPort(), threads);
+        long start = System.nanoTime();
+        while (true) {
+            Thread.sleep(10_000);
+            System.out.print(server.format(System.nanoTime() - start));
+        }
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
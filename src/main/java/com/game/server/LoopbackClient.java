@@ -0,0 +1,373 @@
+package com.game.server;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import com.game.Settings;
+import com.game.sim.Snapshot;
+import com.game.sim.SnapshotCodec;
+import com.game.sim.SnapshotHistory;
+import com.game.sim.SpriteMasks;
+import com.game.sim.World;
+
+/**
+ * Starts a {@link GameServer} on the loopback interface and plays many games
+ * on it at once, each client tapping random moves, most of them forward. A
+ * client whose game ends connects again, so the number of sessions stays
+ * the same. Prints the games played, how busy the server workers were and the
+ * heap taken per session. With {@code --snapshots} every client also asks for
+ * snapshots, decodes and acknowledges them, and the size of the snapshots is
+ * printed.
+ * <p>
+ * Usage: {@code java -cp target/classes com.game.server.LoopbackClient
+ * [sessions=500] [seconds=10] [--threads=N] [--snapshots]}
+ */
+public class LoopbackClient {
+
+    private static final long TAP_NANOS = 50_000_000L;
+
+    /**
+     * Runs the clients.
+     *
+     * @param args The number of sessions, the duration and the options.
+     * @throws IOException          If the server or a client failed.
+     * @throws InterruptedException If interrupted.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int sessions = 500;
+        int seconds = 10;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean snapshots = false;
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring(arg.indexOf('=') + 1));
+            } else if (arg.equals("--snapshots")) {
+                snapshots = true;
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("unknown option " + arg);
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (positional.size() > 0) {
+            sessions = Integer.parseInt(positional.get(0));
+        }
+        if (positional.size() > 1) {
+            seconds = Integer.parseInt(positional.get(1));
+        }
+
+        System.out.printf(Locale.ROOT, "world and player alone: %.1f KiB%n", measureWorld(1000) / 1024.0);
+
+        long baseline = usedHeap();
+        GameServer server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), threads, 1);
+        server.start();
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+
+        SplittableRandom rnd = new SplittableRandom(2);
+        Selector selector = Selector.open();
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            clients.add(new Client(selector, address, rnd.split(), snapshots));
+        }
+
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        long measureAt = start + seconds * 500_000_000L;
+        double bytesPerSession = Double.NaN;
+        long games = 0;
+        long totalScore = 0;
+        int maxScore = 0;
+        long[] snapshotStats = new long[3];
+        long busyAtStart = server.getBusyNanos();
+        while (System.nanoTime() < end) {
+            selector.select(5);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                ((Client) key.attachment()).read();
+            }
+
+            long now = System.nanoTime();
+            for (int i = 0; i < clients.size(); i++) {
+                Client client = clients.get(i);
+                if (client.isDone()) {
+                    if (client.over) {
+                        games++;
+                        totalScore += client.score;
+                        maxScore = Math.max(maxScore, client.score);
+                    }
+                    client.addSnapshotStats(snapshotStats);
+                    client.close();
+                    client = new Client(selector, address, client.rnd, snapshots);
+                    clients.set(i, client);
+                }
+                client.play(now);
+            }
+
+            if (Double.isNaN(bytesPerSession) && now >= measureAt) {
+                int running = server.getSessionCount();
+                bytesPerSession = (usedHeap() - baseline) / (double) Math.max(running, 1);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.print(server.format(elapsed));
+        System.out.printf(Locale.ROOT, "%d games over, mean score %.1f, max %d%n", games,
+                games == 0 ? 0.0 : (double) totalScore / games, maxScore);
+        System.out.printf(Locale.ROOT, "heap per session, both ends of the socket: %.1f KiB%n",
+                bytesPerSession / 1024.0);
+        double busyShare = (server.getBusyNanos() - busyAtStart) / (double) elapsed;
+        System.out.printf(Locale.ROOT, "stepping %d sessions took %.1f%% of a core, about %.0f sessions per core%n",
+                sessions, 100 * busyShare, sessions / Math.max(busyShare, 1e-9));
+
+        for (Client client : clients) {
+            client.addSnapshotStats(snapshotStats);
+            client.close();
+        }
+        if (snapshots) {
+            long received = snapshotStats[0];
+            System.out.printf(Locale.ROOT, "%d snapshots decoded, %d of them whole, mean %.1f bytes, %.0f bytes/s per client%n",
+                    received, snapshotStats[1], received == 0 ? 0.0 : (double) snapshotStats[2] / received,
+                    snapshotStats[2] / (elapsed / 1e9) / sessions);
+        }
+        selector.close();
+        server.stop();
+    }
+
+    /**
+     * Measures the heap taken by a world with its player, the part of a
+     * session that doesn't depend on the connection.
+     *
+     * @param count The number of worlds to average over.
+     * @return The bytes per world.
+     */
+    private static double measureWorld(int count) {
+        List<World> worlds = new ArrayList<>(count);
+        long before = usedHeap();
+        for (int i = 0; i < count; i++) {
+            World world = new World(i);
+            SpriteMasks.apply(world);
+            world.createPlayer(new RemoteControls());
+            // a few seconds in, so the obstacle and power up pools have filled
+            for (int tick = 0; tick < 5 * Settings.TICK_RATE; tick++) {
+                world.step();
+            }
+            worlds.add(world);
+        }
+        double bytes = (usedHeap() - before) / (double) count;
+        worlds.clear();
+        return bytes;
+    }
+
+    /**
+     * Gets the heap in use after a few full collections.
+     *
+     * @return The bytes in use.
+     */
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * One connection playing one game.
+     */
+    private static class Client {
+
+        private final SocketChannel channel;
+        private final SplittableRandom rnd;
+        private final ByteBuffer in;
+        private final ByteBuffer out = ByteBuffer.allocate(Protocol.ACK_SIZE);
+        private final SnapshotHistory history;
+        private final Snapshot decoded;
+
+        private int bits = 0;
+        private long nextInput = 0;
+        private int score = 0;
+        private boolean over = false;
+        private boolean closed = false;
+        private long snapshots = 0;
+        private long wholeSnapshots = 0;
+        private long snapshotBytes = 0;
+
+        /**
+         * Constructor for the Client class, connecting to the server.
+         *
+         * @param selector The selector the client reads with.
+         * @param address  The address of the server.
+         * @param rnd       The random moves of the client.
+         * @param snapshots Whether to ask for snapshots.
+         * @throws IOException If the connection failed.
+         */
+        Client(Selector selector, InetSocketAddress address, SplittableRandom rnd, boolean snapshots)
+                throws IOException {
+            this.rnd = rnd;
+            // a snapshot is queued whole, so it fits in the outbox of the server
+            in = ByteBuffer.allocate(snapshots ? 8192 : 16 * Protocol.SERVER_MESSAGE_SIZE);
+            history = snapshots ? new SnapshotHistory(8) : null;
+            decoded = snapshots ? new Snapshot() : null;
+            channel = SocketChannel.open(address);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, this);
+            if (snapshots) {
+                acknowledge(-1);
+            }
+        }
+
+        /**
+         * Reads the messages of the server.
+         */
+        void read() {
+            try {
+                if (channel.read(in) < 0) {
+                    closed = true;
+                }
+            } catch (IOException e) {
+                closed = true;
+            }
+            in.flip();
+            while (in.hasRemaining()) {
+                if (in.get(in.position()) == Protocol.SNAPSHOT) {
+                    if (in.remaining() < Protocol.SNAPSHOT_HEADER_SIZE
+                            || in.remaining() < Protocol.SNAPSHOT_HEADER_SIZE + in.getInt(in.position() + 1)) {
+                        break;
+                    }
+                    in.get();
+                    readSnapshot(in.getInt());
+                    continue;
+                }
+                if (in.remaining() < Protocol.SERVER_MESSAGE_SIZE) {
+                    break;
+                }
+                byte type = in.get();
+                in.getLong();
+                int value = in.getInt();
+                if (type == Protocol.SCORE || type == Protocol.OVER) {
+                    score = value;
+                }
+                if (type == Protocol.OVER) {
+                    over = true;
+                }
+            }
+            in.compact();
+        }
+
+        /**
+         * Decodes a snapshot against the one it was encoded against and
+         * acknowledges it.
+         *
+         * @param length The length of the snapshot.
+         */
+        private void readSnapshot(int length) {
+            int end = in.position() + length;
+            int limit = in.limit();
+            in.limit(end);
+            long baseline = SnapshotCodec.getBaseline(in);
+            SnapshotCodec.decode(history.get(baseline), in, decoded);
+            in.limit(limit);
+            in.position(end);
+
+            history.add(decoded);
+            snapshots++;
+            snapshotBytes += length;
+            if (baseline < 0) {
+                wholeSnapshots++;
+            }
+            acknowledge(decoded.getTick());
+        }
+
+        /**
+         * Tells the server the last snapshot decoded.
+         *
+         * @param tick The tick of the snapshot, -1 for none.
+         */
+        private void acknowledge(long tick) {
+            out.clear();
+            Protocol.putAck(out, tick);
+            send();
+        }
+
+        /**
+         * Presses a move now and then and lets go of it shortly after.
+         *
+         * @param now The current time in nanoseconds.
+         */
+        void play(long now) {
+            if (now < nextInput || closed) {
+                return;
+            }
+            if (bits != 0) {
+                bits = 0;
+                nextInput = now + 150_000_000L + rnd.nextLong(400_000_000L);
+            } else {
+                int roll = rnd.nextInt(10);
+                bits = roll < 7 ? Protocol.UP : roll == 7 ? Protocol.LEFT : roll == 8 ? Protocol.RIGHT : Protocol.DOWN;
+                nextInput = now + TAP_NANOS;
+            }
+            out.clear();
+            Protocol.putInput(out, bits);
+            send();
+        }
+
+        /**
+         * Writes the message in the output buffer.
+         */
+        private void send() {
+            out.flip();
+            try {
+                channel.write(out);
+            } catch (IOException e) {
+                closed = true;
+            }
+        }
+
+        /**
+         * Adds the number of snapshots, whole ones and bytes decoded to
+         * totals.
+         *
+         * @param totals The totals.
+         */
+        void addSnapshotStats(long[] totals) {
+            totals[0] += snapshots;
+            totals[1] += wholeSnapshots;
+            totals[2] += snapshotBytes;
+        }
+
+        /**
+         * Checks if the game ended or the connection closed.
+         *
+         * @return True if the client is done, false otherwise.
+         */
+        boolean isDone() {
+            return over || closed;
+        }
+
+        /**
+         * Closes the connection.
+         *
+         * @throws IOException If closing failed.
+         */
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.game.server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The messages between the game server and its clients. Every message is a
+ * type byte followed by a fixed size body, big endian, except
+ * {@link #SNAPSHOT}, whose body starts with its length.
+ * <p>
+ * The client sends {@link #INPUT}: the moves it holds, as the bits of
+ * {@link com.game.sim.InputRecorder}. The server runs the game and sends
+ * {@link #START} once, {@link #SCORE} whenever the score changes and
+ * {@link #OVER} when the game ends, then closes the connection.
+ * <p>
+ * A client that wants to draw the game, a spectator for one, sends
+ * {@link #ACK} with tick -1. The server then sends a {@link #SNAPSHOT} every
+ * few ticks, encoded against the last snapshot the client acknowledged, and
+ * the client acknowledges each one it decoded.
+ */
+public final class Protocol {
+
+    /** Server to client: long seed, int tick rate. */
+    public static final byte START = 1;
+    /** Server to client: long tick, int score. */
+    public static final byte SCORE = 2;
+    /** Server to client: long tick, int final score. */
+    public static final byte OVER = 3;
+    /** Server to client: int length, then a {@link com.game.sim.SnapshotCodec} snapshot. */
+    public static final byte SNAPSHOT = 4;
+    /** Client to server: byte move bits. */
+    public static final byte INPUT = 16;
+    /** Client to server: long tick of the last snapshot decoded, -1 for none. */
+    public static final byte ACK = 17;
+
+    public static final int SERVER_MESSAGE_SIZE = 13;
+    public static final int SNAPSHOT_HEADER_SIZE = 5;
+    public static final int INPUT_SIZE = 2;
+    public static final int ACK_SIZE = 9;
+
+    public static final int UP = 1;
+    public static final int DOWN = 2;
+    public static final int LEFT = 4;
+    public static final int RIGHT = 8;
+
+    private Protocol() {
+    }
+
+    /**
+     * Writes a server message.
+     *
+     * @param out   The buffer to write to.
+     * @param type  The message type.
+     * @param value The seed or the tick.
+     * @param extra The tick rate or the score.
+     */
+    public static void putServerMessage(ByteBuffer out, byte type, long value, int extra) {
+        out.put(type).putLong(value).putInt(extra);
+    }
+
+    /**
+     * Writes an input message.
+     *
+     * @param out  The buffer to write to.
+     * @param bits The moves held.
+     */
+    public static void putInput(ByteBuffer out, int bits) {
+        out.put(INPUT).put((byte) bits);
+    }
+
+    /**
+     * Writes an acknowledgement.
+     *
+     * @param out  The buffer to write to.
+     * @param tick The tick of the last snapshot decoded, -1 for none.
+     */
+    public static void putAck(ByteBuffer out, long tick) {
+        out.put(ACK).putLong(tick);
+    }
+}
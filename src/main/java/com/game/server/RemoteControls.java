@@ -0,0 +1,78 @@
+package com.game.server;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.game.sim.Controls;
+
+/**
+ * Controls fed by a client over the network. The network thread sets the
+ * moves the client holds; the tick latches them in {@link #poll()}. A move
+ * pressed and released again between two ticks still counts for one tick.
+ */
+public class RemoteControls implements Controls {
+
+    private volatile int held = 0;
+    private final AtomicInteger pressed = new AtomicInteger();
+    private int state = 0;
+
+    /**
+     * Sets the moves the client holds. Called from the network thread.
+     *
+     * @param bits The move bits of {@link Protocol}.
+     */
+    public void setHeld(int bits) {
+        int newlyPressed = bits & ~held;
+        held = bits;
+        if (newlyPressed != 0) {
+            pressed.accumulateAndGet(newlyPressed, (a, b) -> a | b);
+        }
+    }
+
+    /**
+     * Latches the moves held or pressed since the last tick.
+     */
+    @Override
+    public void poll() {
+        state = held | pressed.getAndSet(0);
+    }
+
+    /**
+     * Checks if the player is moving up.
+     *
+     * @return True if the player is moving up, false otherwise.
+     */
+    @Override
+    public boolean isMoveUp() {
+        return (state & Protocol.UP) != 0;
+    }
+
+    /**
+     * Checks if the player is moving down.
+     *
+     * @return True if the player is moving down, false otherwise.
+     */
+    @Override
+    public boolean isMoveDown() {
+        return (state & Protocol.DOWN) != 0;
+    }
+
+    /**
+     * Checks if the player is moving left.
+     *
+     * @return True if the player is moving left, false otherwise.
+     */
+    @Override
+    public boolean isMoveLeft() {
+        return (state & Protocol.LEFT) != 0;
+    }
+
+    /**
+     * Checks if the player is moving right.
+     *
+     * @return True if the player is moving right, false otherwise.
+     */
+    @Override
+    public boolean isMoveRight() {
+        return (state & Protocol.RIGHT) != 0;
+    }
+}
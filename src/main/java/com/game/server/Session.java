@@ -0,0 +1,223 @@
+package com.game.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.game.Settings;
+import com.game.sim.Snapshot;
+import com.game.sim.SnapshotCodec;
+import com.game.sim.SnapshotHistory;
+import com.game.sim.SpriteMasks;
+import com.game.sim.World;
+
+/**
+ * One game hosted by the server: its own world and player, and the
+ * connection of the client steering it. The network thread reads and writes
+ * the connection; a {@link SessionWorker} steps the world and queues the
+ * messages to send.
+ * <p>
+ * Snapshots only go out once the client asked for them. One that doesn't fit
+ * the outbox is skipped rather than dropping the client, since the next one
+ * carries the same state.
+ */
+class Session {
+
+    private static final int OUTBOX_SIZE = 16 * Protocol.SERVER_MESSAGE_SIZE;
+    private static final int SNAPSHOT_OUTBOX_SIZE = 4096;
+    private static final int SNAPSHOT_INTERVAL = Math.max(1, Settings.TICK_RATE / 20);
+    private static final int SNAPSHOT_HISTORY = 16;
+    private static final long NOT_SUBSCRIBED = Long.MIN_VALUE;
+
+    final long id;
+    final SocketChannel channel;
+    final World world;
+    final RemoteControls controls = new RemoteControls();
+    final AtomicBoolean flushQueued = new AtomicBoolean();
+
+    private final ByteBuffer in = ByteBuffer.allocate(16 * Protocol.ACK_SIZE);
+    private ByteBuffer out = ByteBuffer.allocate(OUTBOX_SIZE); // guarded by this
+    private int lastPoint = 0;
+    private SnapshotHistory snapshots;
+    private volatile long acked = NOT_SUBSCRIBED;
+    private volatile boolean over = false;
+    private volatile boolean closed = false;
+
+    /**
+     * Constructor for the Session class.
+     *
+     * @param id      The number of the session.
+     * @param channel The connection of the client.
+     * @param seed    The seed of the world.
+     */
+    Session(long id, SocketChannel channel, long seed) {
+        this.id = id;
+        this.channel = channel;
+        this.world = new World(seed);
+        SpriteMasks.apply(world);
+        world.createPlayer(controls);
+        send(Protocol.START, seed, Settings.TICK_RATE);
+    }
+
+    /**
+     * Runs one tick and queues the score if it changed, a snapshot if one is
+     * due, and the end of the game if it ended. Called by the worker only.
+     *
+     * @return True if a message was queued, false otherwise.
+     */
+    boolean tick() {
+        world.step();
+        boolean sent = false;
+        if (world.getPoint() != lastPoint) {
+            lastPoint = world.getPoint();
+            sent = send(Protocol.SCORE, world.getTick(), lastPoint);
+        }
+        long ack = acked;
+        if (ack != NOT_SUBSCRIBED && (world.getTick() % SNAPSHOT_INTERVAL == 0 || world.isGameOver())) {
+            if (snapshots == null) {
+                snapshots = new SnapshotHistory(SNAPSHOT_HISTORY);
+                growOutbox();
+            }
+            Snapshot current = snapshots.record(world);
+            // a baseline gone from the history means the client gets a whole snapshot
+            sent |= sendSnapshot(ack == current.getTick() ? null : snapshots.get(ack), current);
+        }
+        if (world.isGameOver()) {
+            sent |= send(Protocol.OVER, world.getTick(), world.getPoint());
+            over = true;
+        }
+        return sent;
+    }
+
+    /**
+     * Queues a message. A client too slow to take its messages is dropped.
+     *
+     * @param type  The message type.
+     * @param value The seed or the tick.
+     * @param extra The tick rate or the score.
+     * @return True if the message was queued, false if the session was closed
+     *         instead.
+     */
+    private synchronized boolean send(byte type, long value, int extra) {
+        if (out.remaining() < Protocol.SERVER_MESSAGE_SIZE) {
+            close();
+            return false;
+        }
+        Protocol.putServerMessage(out, type, value, extra);
+        return true;
+    }
+
+    /**
+     * Swaps the outbox for one with room for snapshots, keeping the queued
+     * messages. Sessions without snapshots keep the small one.
+     */
+    private synchronized void growOutbox() {
+        ByteBuffer bigger = ByteBuffer.allocate(SNAPSHOT_OUTBOX_SIZE);
+        out.flip();
+        bigger.put(out);
+        out = bigger;
+    }
+
+    /**
+     * Queues a snapshot, unless the outbox has no room for it.
+     *
+     * @param base    The snapshot the client acknowledged, or null.
+     * @param current The snapshot to send.
+     * @return True if the snapshot was queued, false otherwise.
+     */
+    private synchronized boolean sendSnapshot(Snapshot base, Snapshot current) {
+        if (closed || out.remaining() < Protocol.SNAPSHOT_HEADER_SIZE + SnapshotCodec.maxSize(base, current)) {
+            return false;
+        }
+        out.put(Protocol.SNAPSHOT);
+        int lengthAt = out.position();
+        out.putInt(0);
+        SnapshotCodec.encode(base, current, out);
+        out.putInt(lengthAt, out.position() - lengthAt - Integer.BYTES);
+        return true;
+    }
+
+    /**
+     * Writes as much of the queued messages as the connection takes. Called
+     * by the network thread only.
+     *
+     * @return True if everything was written, false otherwise.
+     * @throws IOException If the connection failed.
+     */
+    synchronized boolean flush() throws IOException {
+        out.flip();
+        channel.write(out);
+        out.compact();
+        return out.position() == 0;
+    }
+
+    /**
+     * Reads the messages that arrived, handing the moves to the controls and
+     * noting the acknowledged snapshot. Called by the network thread only.
+     *
+     * @return False if the client closed the connection, true otherwise.
+     * @throws IOException           If the connection failed.
+     * @throws IllegalStateException If the client sent something else than
+     *                               input or acknowledgements.
+     */
+    boolean read() throws IOException {
+        int read = channel.read(in);
+        if (read < 0) {
+            return false;
+        }
+        in.flip();
+        while (in.hasRemaining()) {
+            byte type = in.get(in.position());
+            int size;
+            if (type == Protocol.INPUT) {
+                size = Protocol.INPUT_SIZE;
+            } else if (type == Protocol.ACK) {
+                size = Protocol.ACK_SIZE;
+            } else {
+                throw new IllegalStateException("unexpected message " + type + " from session " + id);
+            }
+            if (in.remaining() < size) {
+                break;
+            }
+            in.get();
+            if (type == Protocol.INPUT) {
+                controls.setHeld(in.get() & 0xF);
+            } else {
+                acked = Math.max(in.getLong(), -1);
+            }
+        }
+        in.compact();
+        return true;
+    }
+
+    /**
+     * Checks if the game ended.
+     *
+     * @return True if the game is over, false otherwise.
+     */
+    boolean isOver() {
+        return over;
+    }
+
+    /**
+     * Checks if the session was closed, by either side.
+     *
+     * @return True if the session is closed, false otherwise.
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Closes the session and its connection.
+     */
+    void close() {
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.game.server;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import com.game.sim.World;
+
+/**
+ * Steps a share of the sessions of the server at the tick rate, all on one
+ * thread. A tick that runs late is caught up right away; when the worker is
+ * so far behind that catching up would take longer than a few ticks, the
+ * missed ticks are dropped and its sessions run slower than real time.
+ */
+class SessionWorker implements Runnable {
+
+    private static final long MAX_LAG_NANOS = 8 * World.STEP_NANOS;
+
+    private final GameServer server;
+    private final ConcurrentLinkedQueue<Session> added = new ConcurrentLinkedQueue<>();
+    private final ArrayList<Session> sessions = new ArrayList<>();
+
+    private volatile boolean running = true;
+    private volatile int sessionCount = 0;
+    private volatile long passes = 0;
+    private volatile long latePasses = 0;
+    private volatile long droppedTicks = 0;
+    private volatile long busyNanos = 0;
+
+    /**
+     * Constructor for the SessionWorker class.
+     *
+     * @param server The server flushing the messages of the sessions.
+     */
+    SessionWorker(GameServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Hands a new session to the worker, stepped from its next pass on.
+     *
+     * @param session The session.
+     */
+    void add(Session session) {
+        added.add(session);
+    }
+
+    /**
+     * Stops the worker after its current pass.
+     */
+    void stop() {
+        running = false;
+    }
+
+    /**
+     * Steps every session once per tick until stopped.
+     */
+    @Override
+    public void run() {
+        long next = System.nanoTime();
+        while (running) {
+            long start = System.nanoTime();
+            Session session;
+            while ((session = added.poll()) != null) {
+                sessions.add(session);
+            }
+
+            boolean flush = false;
+            for (int i = sessions.size() - 1; i >= 0; i--) {
+                session = sessions.get(i);
+                if (!session.isClosed() && session.tick()) {
+                    server.requestFlush(session);
+                    flush = true;
+                }
+                if (session.isClosed() || session.isOver()) {
+                    // swap remove, the order of the sessions doesn't matter
+                    sessions.set(i, sessions.get(sessions.size() - 1));
+                    sessions.remove(sessions.size() - 1);
+                }
+            }
+            if (flush) {
+                server.wakeup();
+            }
+
+            long end = System.nanoTime();
+            sessionCount = sessions.size();
+            busyNanos += end - start;
+            passes++;
+
+            next += World.STEP_NANOS;
+            long wait = next - end;
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                latePasses++;
+                if (-wait > MAX_LAG_NANOS) {
+                    droppedTicks += -wait / World.STEP_NANOS;
+                    next = end;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of sessions stepped in the last pass.
+     *
+     * @return The number of sessions.
+     */
+    int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Gets the number of passes over the sessions, one per tick.
+     *
+     * @return The number of passes.
+     */
+    long getPasses() {
+        return passes;
+    }
+
+    /**
+     * Gets the number of passes that ended after the next one was due.
+     *
+     * @return The number of late passes.
+     */
+    long getLatePasses() {
+        return latePasses;
+    }
+
+    /**
+     * Gets the number of ticks given up because the worker fell too far
+     * behind.
+     *
+     * @return The number of dropped ticks.
+     */
+    long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    /**
+     * Gets the time spent stepping sessions.
+     *
+     * @return The busy time in nanoseconds.
+     */
+    long getBusyNanos() {
+        return busyNanos;
+    }
+}
@@ -0,0 +1,337 @@
+package com.game.sim;
+
+import java.util.Arrays;
+
+import com.game.Settings;
+
+/**
+ * Obstacles stored as where and when they spawned and how fast they drive,
+ * instead of a position moved every tick. A position is {@code x0 + dx * (t -
+ * t0)}, worked out only when asked for, and the tick an obstacle leaves the
+ * screen is known from the start; nothing is touched on a tick but the
+ * obstacles that expire, so the world can jump any number of ticks ahead at
+ * no cost.
+ * <p>
+ * Obstacles are kept per lane in parallel primitive arrays, like
+ * {@link ObstacleStore}; an obstacle's Y follows from its lane.
+ */
+public class AnalyticLanes {
+
+    private static final Sprite[] SPRITES = Sprite.values();
+
+    private final Lane[] lanes;
+    private int size = 0;
+
+    /**
+     * Constructor for the AnalyticLanes class.
+     *
+     * @param laneCount The number of grid rows, lanes being numbered from 0.
+     */
+    public AnalyticLanes(int laneCount) {
+        lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    /**
+     * Adds an obstacle.
+     *
+     * @param sprite The sprite of the obstacle.
+     * @param lane   The grid row the obstacle drives in.
+     * @param tick   The tick the obstacle is at the given X.
+     * @param x      The X position of the obstacle at that tick.
+     * @param w      The width of the obstacle.
+     * @param h      The height of the obstacle.
+     * @param dx     The X velocity of the obstacle per tick.
+     */
+    public void add(Sprite sprite, int lane, long tick, double x, double w, double h, double dx) {
+        lanes[lane].add(sprite.ordinal(), tick, x, w, h, dx, exitTick(tick, x, w, dx));
+        size++;
+    }
+
+    /**
+     * Works out the first tick an obstacle is past the screen edge it drives
+     * towards, with the same strict edges as
+     * {@link ObstacleStore#removeOffscreen()}.
+     *
+     * @param tick The tick the obstacle is at X.
+     * @param x    The X position.
+     * @param w    The width.
+     * @param dx   The X velocity per tick.
+     * @return The tick the obstacle is gone at.
+     */
+    private static long exitTick(long tick, double x, double w, double dx) {
+        double ticks;
+        if (dx < 0) {
+            ticks = (x + w) / -dx;
+        } else if (dx > 0) {
+            ticks = (Settings.SCENE_WIDTH - x) / dx;
+        } else {
+            return Long.MAX_VALUE;
+        }
+        return tick + Math.max((long) Math.floor(ticks) + 1, 0);
+    }
+
+    /**
+     * Drops every obstacle gone by the given tick. Lanes are sorted by exit
+     * tick, so only the dropped obstacles are looked at.
+     *
+     * @param tick The current tick.
+     * @return The number of dropped obstacles.
+     */
+    public int prune(long tick) {
+        int removed = 0;
+        for (Lane lane : lanes) {
+            removed += lane.prune(tick);
+        }
+        size -= removed;
+        return removed;
+    }
+
+    /**
+     * Checks if any obstacle of a lane covers part of a segment at a tick,
+     * edges included.
+     *
+     * @param lane  The grid row.
+     * @param left  The left end of the segment.
+     * @param right The right end of the segment.
+     * @param tick  The tick.
+     * @return True if the segment is occupied, false otherwise.
+     */
+    public boolean isOccupied(int lane, double left, double right, long tick) {
+        Lane l = lanes[lane];
+        for (int i = l.head; i < l.tail; i++) {
+            double x = l.x0[i] + l.dx[i] * (tick - l.t0[i]);
+            if (x + l.w[i] >= left && x <= right && tick < l.exit[i] && tick >= l.t0[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the first tick in a range at which an obstacle of a lane covers
+     * part of a segment, edges included. Each obstacle gives the interval of
+     * ticks it spends over the segment in closed form.
+     *
+     * @param lane  The grid row.
+     * @param left  The left end of the segment.
+     * @param right The right end of the segment.
+     * @param from  The first tick of the range.
+     * @param to    The last tick of the range, inclusive.
+     * @return The first occupied tick, or -1 if the segment stays free.
+     */
+    public long nextOccupied(int lane, double left, double right, long from, long to) {
+        Lane l = lanes[lane];
+        long first = Long.MAX_VALUE;
+        for (int i = l.head; i < l.tail; i++) {
+            double x0 = l.x0[i];
+            double dx = l.dx[i];
+            long start;
+            long end = Math.min(to, l.exit[i] - 1);
+            if (dx == 0) {
+                if (x0 + l.w[i] < left || x0 > right) {
+                    continue;
+                }
+                start = Math.max(from, l.t0[i]);
+            } else {
+                // ticks after t0 at which the obstacle enters and leaves
+                double enter = ((dx > 0 ? left - l.w[i] : right) - x0) / dx;
+                double leave = ((dx > 0 ? right : left - l.w[i]) - x0) / dx;
+                start = Math.max(Math.max(from, l.t0[i]), l.t0[i] + (long) Math.ceil(enter));
+                end = Math.min(end, l.t0[i] + (long) Math.floor(leave));
+            }
+            if (start <= end && start < first) {
+                first = start;
+            }
+        }
+        return first == Long.MAX_VALUE ? -1 : first;
+    }
+
+    /**
+     * Checks if any obstacle overlaps the given box at a tick, with the same
+     * inclusive edges as {@link Body#collidesWith(Body)}. Only the lanes the
+     * box spans are looked at.
+     *
+     * @param bx   The X position of the box.
+     * @param by   The Y position of the box.
+     * @param bw   The width of the box.
+     * @param bh   The height of the box.
+     * @param tick The tick.
+     * @return True if an obstacle overlaps the box, false otherwise.
+     */
+    public boolean overlaps(double bx, double by, double bw, double bh, long tick) {
+        int firstLane = Math.max(Grid.pixelToGrid(Math.max(by, 0)), 0);
+        int lastLane = Math.min(Grid.pixelToGrid(Math.max(by + bh, 0)), lanes.length - 1);
+        for (int lane = firstLane; lane <= lastLane; lane++) {
+            Lane l = lanes[lane];
+            for (int i = l.head; i < l.tail; i++) {
+                double x = l.x0[i] + l.dx[i] * (tick - l.t0[i]);
+                if (x + l.w[i] < bx || x > bx + bw || tick >= l.exit[i] || tick < l.t0[i]) {
+                    continue;
+                }
+                double y = Grid.gridToPixel(lane) + (Grid.SIZE - l.h[i]) / 2;
+                if (y + l.h[i] >= by && y <= by + bh) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of obstacles in a lane.
+     *
+     * @param lane The grid row.
+     * @return The number of obstacles.
+     */
+    public int size(int lane) {
+        return lanes[lane].tail - lanes[lane].head;
+    }
+
+    /**
+     * Gets the X position of an obstacle at a tick.
+     *
+     * @param lane The grid row.
+     * @param i    The slot of the obstacle in the lane, valid until the next
+     *             prune.
+     * @param tick The tick.
+     * @return The X position.
+     */
+    public double getX(int lane, int i, long tick) {
+        Lane l = lanes[lane];
+        int slot = l.head + i;
+        return l.x0[slot] + l.dx[slot] * (tick - l.t0[slot]);
+    }
+
+    /**
+     * Gets the sprite of an obstacle.
+     *
+     * @param lane The grid row.
+     * @param i    The slot of the obstacle in the lane.
+     * @return The sprite.
+     */
+    public Sprite getSprite(int lane, int i) {
+        return SPRITES[lanes[lane].sprite[lanes[lane].head + i]];
+    }
+
+    /**
+     * Gets the number of obstacles.
+     *
+     * @return The number of obstacles.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every obstacle, keeping the arrays.
+     */
+    public void clear() {
+        for (Lane lane : lanes) {
+            lane.clear();
+        }
+        size = 0;
+    }
+
+    /**
+     * The obstacles of one lane, sorted by the tick they leave the screen. A
+     * spawn drives the whole width, so it leaves after nearly every obstacle
+     * already there and is inserted close to the end; pruning only moves the
+     * start past the expired ones.
+     */
+    private static class Lane {
+
+        long[] t0 = new long[8];
+        double[] x0 = new double[8];
+        double[] dx = new double[8];
+        double[] w = new double[8];
+        double[] h = new double[8];
+        long[] exit = new long[8];
+        int[] sprite = new int[8];
+        int head = 0;
+        int tail = 0;
+
+        void add(int sprite, long t0, double x0, double w, double h, double dx, long exit) {
+            if (tail == this.t0.length) {
+                makeRoom();
+            }
+            int i = tail;
+            while (i > head && this.exit[i - 1] > exit) {
+                i--;
+            }
+            if (i < tail) {
+                shiftRight(i);
+            }
+            tail++;
+            this.t0[i] = t0;
+            this.x0[i] = x0;
+            this.dx[i] = dx;
+            this.w[i] = w;
+            this.h[i] = h;
+            this.exit[i] = exit;
+            this.sprite[i] = sprite;
+        }
+
+        int prune(long tick) {
+            int start = head;
+            while (head < tail && exit[head] <= tick) {
+                head++;
+            }
+            return head - start;
+        }
+
+        void clear() {
+            head = 0;
+            tail = 0;
+        }
+
+        private void shiftRight(int i) {
+            int n = tail - i;
+            System.arraycopy(t0, i, t0, i + 1, n);
+            System.arraycopy(x0, i, x0, i + 1, n);
+            System.arraycopy(dx, i, dx, i + 1, n);
+            System.arraycopy(w, i, w, i + 1, n);
+            System.arraycopy(h, i, h, i + 1, n);
+            System.arraycopy(exit, i, exit, i + 1, n);
+            System.arraycopy(sprite, i, sprite, i + 1, n);
+        }
+
+        /**
+         * Moves the live obstacles back to the start of the arrays, growing
+         * them if they are more than half full.
+         */
+        private void makeRoom() {
+            int n = tail - head;
+            int capacity = n * 2 > t0.length ? t0.length * 2 : t0.length;
+            t0 = compact(t0, capacity, n);
+            x0 = compact(x0, capacity, n);
+            dx = compact(dx, capacity, n);
+            w = compact(w, capacity, n);
+            h = compact(h, capacity, n);
+            exit = compact(exit, capacity, n);
+            sprite = compact(sprite, capacity, n);
+            head = 0;
+            tail = n;
+        }
+
+        private long[] compact(long[] a, int capacity, int n) {
+            long[] b = capacity == a.length ? a : new long[capacity];
+            System.arraycopy(a, head, b, 0, n);
+            return b;
+        }
+
+        private double[] compact(double[] a, int capacity, int n) {
+            double[] b = capacity == a.length ? a : new double[capacity];
+            System.arraycopy(a, head, b, 0, n);
+            return b;
+        }
+
+        private int[] compact(int[] a, int capacity, int n) {
+            int[] b = capacity == a.length ? a : new int[capacity];
+            System.arraycopy(a, head, b, 0, n);
+            return b;
+        }
+    }
+}
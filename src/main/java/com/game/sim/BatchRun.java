@@ -0,0 +1,261 @@
+package com.game.sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.game.Settings;
+
+/**
+ * Plays thousands of headless games with a bot for each difficulty given and
+ * reports how long the bot survives, what it scores and what kills it. Games
+ * are split over a fork join pool; game {@code i} uses the same seed under
+ * every difficulty, so the difficulties are compared on the same rolls.
+ * <p>
+ * Usage: {@code java -cp target/classes com.game.sim.BatchRun [--games=2000]
+ * [--ticks=7200] [--policy=careful|forward|random] [--seed=1] [--threads=N]
+ * [difficulty ...]}, each difficulty being written as in {@link Difficulty},
+ * e.g. {@code enemy=80,trainSpeed=3500}.
+ */
+public class BatchRun {
+
+    private static final int LEAF_GAMES = 16;
+
+    private static final int SURVIVED = -1;
+
+    /**
+     * Runs the batch.
+     *
+     * @param args The options and difficulties.
+     */
+    public static void main(String[] args) {
+        int games = 2000;
+        long maxTicks = 60L * Settings.TICK_RATE;
+        BotControls.Policy policy = BotControls.Policy.CAREFUL;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<Difficulty> difficulties = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.startsWith("--games=")) {
+                games = Integer.parseInt(value(arg));
+            } else if (arg.startsWith("--ticks=")) {
+                maxTicks = Long.parseLong(value(arg));
+            } else if (arg.startsWith("--policy=")) {
+                policy = BotControls.Policy.valueOf(value(arg).toUpperCase(Locale.ROOT));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value(arg));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(value(arg));
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("unknown option " + arg);
+            } else {
+                difficulties.add(Difficulty.parse(arg));
+            }
+        }
+        if (difficulties.isEmpty()) {
+            difficulties.add(new Difficulty());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        System.out.printf("%d games per difficulty, at most %d ticks each, %s policy, %d threads%n", games, maxTicks,
+                policy.name().toLowerCase(Locale.ROOT), threads);
+        for (Difficulty difficulty : difficulties) {
+            Results results = new Results(games);
+            long start = System.nanoTime();
+            pool.invoke(new Batch(difficulty, policy, seed, maxTicks, results, 0, games));
+            long elapsed = System.nanoTime() - start;
+            System.out.println();
+            System.out.print(results.format(difficulty, maxTicks, elapsed));
+        }
+        pool.shutdown();
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    /**
+     * Plays a single game to its end or to the tick limit.
+     *
+     * @param difficulty The difficulty.
+     * @param policy     The bot policy.
+     * @param seed       The seed of the game.
+     * @param maxTicks   The tick limit.
+     * @param results    The results to write to.
+     * @param game       The index of the game in the results.
+     */
+    static void play(Difficulty difficulty, BotControls.Policy policy, long seed, long maxTicks, Results results,
+            int game) {
+        World world = new World(seed);
+        world.setDifficulty(difficulty);
+        SpriteMasks.apply(world);
+        PlayerBody player = world.createPlayer(new BotControls(world, policy, ~seed));
+        while (!world.isGameOver() && world.getTick() < maxTicks) {
+            world.step();
+        }
+        results.ticks[game] = world.getTick();
+        results.scores[game] = world.getPoint();
+        results.causes[game] = player.getKilledBy() != null ? player.getKilledBy().ordinal()
+                : world.isGameOver() ? Sprite.values().length : SURVIVED;
+    }
+
+    /**
+     * Seeds a game from the seed of the batch, spreading the bits so close
+     * batch seeds don't give close games.
+     *
+     * @param seed The seed of the batch.
+     * @param game The index of the game.
+     * @return The seed of the game.
+     */
+    static long gameSeed(long seed, int game) {
+        long z = seed + (game + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Splits a range of games in halves until it is small enough to play in a
+     * row.
+     */
+    static class Batch extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Difficulty difficulty;
+        private final BotControls.Policy policy;
+        private final long seed;
+        private final long maxTicks;
+        private final Results results;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructor for the Batch class.
+         *
+         * @param difficulty The difficulty of every game.
+         * @param policy     The bot policy.
+         * @param seed       The seed of the batch.
+         * @param maxTicks   The tick limit of a game.
+         * @param results    The results, one slot per game.
+         * @param from       The first game, inclusive.
+         * @param to         The last game, exclusive.
+         */
+        Batch(Difficulty difficulty, BotControls.Policy policy, long seed, long maxTicks, Results results, int from,
+                int to) {
+            this.difficulty = difficulty;
+            this.policy = policy;
+            this.seed = seed;
+            this.maxTicks = maxTicks;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Plays the range or forks its halves.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_GAMES) {
+                for (int game = from; game < to; game++) {
+                    play(difficulty, policy, gameSeed(seed, game), maxTicks, results, game);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Batch(difficulty, policy, seed, maxTicks, results, from, mid),
+                    new Batch(difficulty, policy, seed, maxTicks, results, mid, to));
+        }
+    }
+
+    /**
+     * The outcome of every game of a batch, each game writing its own slots.
+     */
+    static class Results {
+
+        final long[] ticks;
+        final int[] scores;
+        final int[] causes;
+
+        /**
+         * Constructor for the Results class.
+         *
+         * @param games The number of games.
+         */
+        Results(int games) {
+            ticks = new long[games];
+            scores = new int[games];
+            causes = new int[games];
+        }
+
+        /**
+         * Formats the survival time and score distributions and the share of
+         * each death cause.
+         *
+         * @param difficulty The difficulty played.
+         * @param maxTicks   The tick limit of a game.
+         * @param elapsed    The wall time of the batch in nanoseconds.
+         * @return The report.
+         */
+        String format(Difficulty difficulty, long maxTicks, long elapsed) {
+            int games = ticks.length;
+            long[] sortedTicks = ticks.clone();
+            int[] sortedScores = scores.clone();
+            Arrays.sort(sortedTicks);
+            Arrays.sort(sortedScores);
+
+            long totalTicks = 0;
+            long totalScore = 0;
+            int[] causeCounts = new int[Sprite.values().length + 1];
+            int survived = 0;
+            for (int game = 0; game < games; game++) {
+                totalTicks += ticks[game];
+                totalScore += scores[game];
+                if (causes[game] == SURVIVED) {
+                    survived++;
+                } else {
+                    causeCounts[causes[game]]++;
+                }
+            }
+
+            StringBuilder out = new StringBuilder();
+            out.append(difficulty).append('\n');
+            out.append(String.format(Locale.ROOT, "  %d games in %.2f s, %.0f ticks/s%n", games, elapsed / 1e9,
+                    totalTicks / (elapsed / 1e9)));
+            out.append(String.format(Locale.ROOT, "  survival s  mean %7.1f  p10 %7.1f  p50 %7.1f  p90 %7.1f%n",
+                    totalTicks * World.STEP_SECONDS / games, percentile(sortedTicks, 0.1) * World.STEP_SECONDS,
+                    percentile(sortedTicks, 0.5) * World.STEP_SECONDS,
+                    percentile(sortedTicks, 0.9) * World.STEP_SECONDS));
+            out.append(String.format(Locale.ROOT, "  score       mean %7.1f  p10 %7d  p50 %7d  p90 %7d  max %d%n",
+                    (double) totalScore / games, sortedScores[index(games, 0.1)], sortedScores[index(games, 0.5)],
+                    sortedScores[index(games, 0.9)], sortedScores[games - 1]));
+            out.append("  deaths     ");
+            for (Sprite sprite : Sprite.values()) {
+                if (causeCounts[sprite.ordinal()] > 0) {
+                    out.append(String.format(Locale.ROOT, " %s %.1f%%", sprite.name().toLowerCase(Locale.ROOT),
+                            100.0 * causeCounts[sprite.ordinal()] / games));
+                }
+            }
+            if (causeCounts[Sprite.values().length] > 0) {
+                out.append(String.format(Locale.ROOT, " other %.1f%%",
+                        100.0 * causeCounts[Sprite.values().length] / games));
+            }
+            out.append(String.format(Locale.ROOT, " survived %.0f s %.1f%%%n", maxTicks * World.STEP_SECONDS,
+                    100.0 * survived / games));
+            return out.toString();
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            return sorted[index(sorted.length, quantile)];
+        }
+
+        private static int index(int size, double quantile) {
+            return Math.min(size - 1, Math.max(0, (int) Math.ceil(quantile * size) - 1));
+        }
+    }
+}
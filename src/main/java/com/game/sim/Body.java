@@ -0,0 +1,430 @@
+package com.game.sim;
+
+public abstract class Body {
+
+    private static final int MAX_PIXEL_STEPS = 32;
+
+    final Sprite sprite;
+
+    int id = -1;
+
+    double x;
+    double y;
+    double r;
+
+    double prevX;
+    double prevY;
+    double prevR;
+
+    double dx;
+    double dy;
+    double dr;
+
+    double w;
+    double h;
+
+    boolean removable = false;
+
+    boolean canMove = true;
+
+    /**
+     * Constructor for the Body class.
+     *
+     * @param sprite The sprite the body is drawn with.
+     * @param x      The X position of the body.
+     * @param y      The Y position of the body.
+     * @param w      The width of the body.
+     * @param h      The height of the body.
+     * @param dx     The X velocity of the body.
+     * @param dy     The Y velocity of the body.
+     */
+    public Body(Sprite sprite, double x, double y, double w, double h, double dx, double dy) {
+        this.sprite = sprite;
+        this.x = x;
+        this.y = y;
+        this.w = w;
+        this.h = h;
+        this.dx = dx;
+        this.dy = dy;
+        savePosition();
+    }
+
+    /**
+     * Gets the sprite of the body.
+     *
+     * @return The sprite of the body.
+     */
+    public Sprite getSprite() {
+        return sprite;
+    }
+
+    /**
+     * Gets the number the world gave the body when it spawned. Ids grow with
+     * every spawn, a pooled body coming back included, so the bodies of a
+     * list kept in spawn order are sorted by id.
+     *
+     * @return The id of the body, -1 if it never spawned.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the X position of the body.
+     *
+     * @return The X position of the body.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Sets the X position of the body.
+     *
+     * @param x The X position to set.
+     */
+    public void setX(double x) {
+        this.x = x;
+    }
+
+    /**
+     * Gets the Y position of the body.
+     *
+     * @return The Y position of the body.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Sets the Y position of the body.
+     *
+     * @param y The Y position to set.
+     */
+    public void setY(double y) {
+        this.y = y;
+    }
+
+    /**
+     * Sets the size of the body.
+     *
+     * @param w The width to set.
+     * @param h The height to set.
+     */
+    public void resize(double w, double h) {
+        this.w = w;
+        this.h = h;
+    }
+
+    /**
+     * Gets the rotation of the body.
+     *
+     * @return The rotation of the body.
+     */
+    public double getR() {
+        return r;
+    }
+
+    /**
+     * Gets the X velocity of the body.
+     *
+     * @return The X velocity of the body.
+     */
+    public double getDx() {
+        return dx;
+    }
+
+    /**
+     * Gets the Y velocity of the body.
+     *
+     * @return The Y velocity of the body.
+     */
+    public double getDy() {
+        return dy;
+    }
+
+    /**
+     * Gets the width of the body.
+     *
+     * @return The width of the body.
+     */
+    public double getWidth() {
+        return w;
+    }
+
+    /**
+     * Gets the height of the body.
+     *
+     * @return The height of the body.
+     */
+    public double getHeight() {
+        return h;
+    }
+
+    /**
+     * Gets the center X position of the body.
+     *
+     * @return The center X position of the body.
+     */
+    public double getCenterX() {
+        return x + w * 0.5;
+    }
+
+    /**
+     * Gets the center Y position of the body.
+     *
+     * @return The center Y position of the body.
+     */
+    public double getCenterY() {
+        return y + h * 0.5;
+    }
+
+    /**
+     * Gets the removable flag of the body.
+     *
+     * @return The removable flag of the body.
+     */
+    public boolean isRemovable() {
+        return removable;
+    }
+
+    /**
+     * Sets the removable flag of the body.
+     *
+     * @param removable The removable flag to set.
+     */
+    public void setRemovable(boolean removable) {
+        this.removable = removable;
+    }
+
+    /**
+     * Remembers the current position as the one of the previous tick, so the
+     * view can interpolate between the two.
+     */
+    public void savePosition() {
+        prevX = x;
+        prevY = y;
+        prevR = r;
+    }
+
+    /**
+     * Gets the X position blended between the previous and the current tick.
+     *
+     * @param alpha How far the render time is past the previous tick, in [0, 1].
+     * @return The interpolated X position.
+     */
+    public double getRenderX(double alpha) {
+        return prevX + (x - prevX) * alpha;
+    }
+
+    /**
+     * Gets the Y position blended between the previous and the current tick.
+     *
+     * @param alpha How far the render time is past the previous tick, in [0, 1].
+     * @return The interpolated Y position.
+     */
+    public double getRenderY(double alpha) {
+        return prevY + (y - prevY) * alpha;
+    }
+
+    /**
+     * Gets the rotation blended between the previous and the current tick.
+     *
+     * @param alpha How far the render time is past the previous tick, in [0, 1].
+     * @return The interpolated rotation.
+     */
+    public double getRenderR(double alpha) {
+        return prevR + (r - prevR) * alpha;
+    }
+
+    /**
+     * Moves the body by one tick.
+     */
+    public void move() {
+
+        if (!canMove)
+            return;
+
+        x += dx;
+        y += dy;
+        r += dr;
+
+    }
+
+    /**
+     * Checks if the bounding box of the body overlaps the one of another body.
+     *
+     * @param other The other body to check collision with.
+     * @return True if the bodies collide, false otherwise.
+     */
+    public boolean collidesWith(Body other) {
+
+        return (other.x + other.w >= x && other.y + other.h >= y
+                && other.x <= x + w && other.y <= y + h);
+
+    }
+
+    /**
+     * Checks if the body touched another body at any time during the last
+     * tick, both moving in a straight line from their saved to their current
+     * position. Unlike {@link #collidesWith(Body)} this catches a fast body
+     * that went through the other one between two ticks.
+     *
+     * @param other The other body to check collision with.
+     * @return True if the bodies touched during the tick, false otherwise.
+     */
+    public boolean sweptCollidesWith(Body other) {
+        double enter = contactEnter(other);
+        double exit = contactExit(other);
+        return enter <= exit && enter <= 1 && exit >= 0;
+    }
+
+    /**
+     * Checks if the solid pixels of the body and of another body overlap at
+     * any point of the last tick, both moving in a straight line from their
+     * saved to their current position. The masks are tested across the whole
+     * time the boxes touch, from entry to exit, at most a pixel of relative
+     * movement apart, so a hit at the edge of the contact isn't missed. A
+     * body without a mask counts as solid all over.
+     *
+     * @param other     The other body.
+     * @param mask      The mask of this body, or null.
+     * @param otherMask The mask of the other body, or null.
+     * @return True if the pixels overlapped during the tick, false otherwise.
+     */
+    public boolean sweptPixelsOverlap(Body other, CollisionMask mask, CollisionMask otherMask) {
+        double enter = Math.max(contactEnter(other), 0);
+        double exit = Math.min(contactExit(other), 1);
+        if (enter > exit) {
+            return false;
+        }
+        if (mask == null || otherMask == null) {
+            return true;
+        }
+
+        // relative movement over the contact, in pixels
+        double moveX = ((other.x - x) - (other.prevX - prevX)) * (exit - enter);
+        double moveY = ((other.y - y) - (other.prevY - prevY)) * (exit - enter);
+        double travel = Math.max(Math.abs(moveX), Math.abs(moveY));
+        int steps = (int) Math.min(Math.ceil(travel), MAX_PIXEL_STEPS);
+        for (int i = 0; i <= steps; i++) {
+            double alpha = steps == 0 ? exit : enter + (exit - enter) * i / steps;
+            if (pixelsOverlap(other, mask, otherMask, alpha)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the time of the last tick the boxes of the body and of another
+     * body start to touch.
+     *
+     * @param other The other body.
+     * @return The fraction of the tick, possibly outside [0, 1].
+     */
+    private double contactEnter(Body other) {
+        // position of the other body relative to this one, at the start of
+        // the tick and how it changes over the tick
+        double startX = other.prevX - prevX;
+        double startY = other.prevY - prevY;
+        double deltaX = (other.x - x) - startX;
+        double deltaY = (other.y - y) - startY;
+        return Math.max(entry(startX, deltaX, -other.w, w), entry(startY, deltaY, -other.h, h));
+    }
+
+    /**
+     * Gets the time of the last tick the boxes of the body and of another
+     * body stop touching.
+     *
+     * @param other The other body.
+     * @return The fraction of the tick, possibly outside [0, 1].
+     */
+    private double contactExit(Body other) {
+        double startX = other.prevX - prevX;
+        double startY = other.prevY - prevY;
+        double deltaX = (other.x - x) - startX;
+        double deltaY = (other.y - y) - startY;
+        return Math.min(exit(startX, deltaX, -other.w, w), exit(startY, deltaY, -other.h, h));
+    }
+
+    /**
+     * Checks if the solid pixels of the body and of another body overlap at a
+     * point of the last tick. Meant to run after a bounding box test passed;
+     * a body without a mask counts as solid all over.
+     *
+     * @param other     The other body.
+     * @param mask      The mask of this body, or null.
+     * @param otherMask The mask of the other body, or null.
+     * @param alpha     The fraction of the tick, 1 being the current position.
+     * @return True if the pixels overlap, false otherwise.
+     */
+    public boolean pixelsOverlap(Body other, CollisionMask mask, CollisionMask otherMask, double alpha) {
+        if (mask == null || otherMask == null) {
+            return true;
+        }
+        int offsetX = (int) Math.round(other.getRenderX(alpha) - getRenderX(alpha));
+        int offsetY = (int) Math.round(other.getRenderY(alpha) - getRenderY(alpha));
+        return mask.overlaps(otherMask, offsetX, offsetY);
+    }
+
+    /**
+     * Gets the time an offset moving from start by delta over one tick enters
+     * the range.
+     *
+     * @param start The offset at the start of the tick.
+     * @param delta The change of the offset over the tick.
+     * @param lo    The lowest offset in range.
+     * @param hi    The highest offset in range.
+     * @return The fraction of the tick the offset enters the range at,
+     *         negative infinity if it is always in range and positive infinity
+     *         if it never is.
+     */
+    private static double entry(double start, double delta, double lo, double hi) {
+        if (delta == 0) {
+            return start >= lo && start <= hi ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        return delta > 0 ? (lo - start) / delta : (hi - start) / delta;
+    }
+
+    /**
+     * Gets the time an offset moving from start by delta over one tick leaves
+     * the range.
+     *
+     * @param start The offset at the start of the tick.
+     * @param delta The change of the offset over the tick.
+     * @param lo    The lowest offset in range.
+     * @param hi    The highest offset in range.
+     * @return The fraction of the tick the offset leaves the range at,
+     *         positive infinity if it is always in range and negative
+     *         infinity if it never is.
+     */
+    private static double exit(double start, double delta, double lo, double hi) {
+        if (delta == 0) {
+            return start >= lo && start <= hi ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        }
+        return delta > 0 ? (hi - start) / delta : (lo - start) / delta;
+    }
+
+    /**
+     * Sets the flag that the body can be removed from the world.
+     */
+    public void remove() {
+        setRemovable(true);
+    }
+
+    /**
+     * Sets the flag that the body can't move anymore.
+     */
+    public void stopMovement() {
+        this.canMove = false;
+    }
+
+    /**
+     * Checks if the body is removable.
+     *
+     * @param viewTop The world Y at the top of the view.
+     */
+    public abstract void checkRemovability(double viewTop);
+
+}
@@ -0,0 +1,60 @@
+package com.game.sim;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+
+/**
+ * Keeps removed bodies per sprite so they can be reset and spawned again
+ * instead of allocating a new body for every spawn.
+ *
+ * @param <T> The type of pooled bodies.
+ */
+public class BodyPool<T extends Body> {
+
+    private final EnumMap<Sprite, ArrayDeque<T>> free = new EnumMap<>(Sprite.class);
+    private final int capacity;
+
+    /**
+     * Constructor for the BodyPool class.
+     *
+     * @param capacity The most bodies kept per sprite; extra bodies are left to
+     *                 the garbage collector.
+     */
+    public BodyPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Takes a free body of the given sprite out of the pool.
+     *
+     * @param sprite The sprite of the body.
+     * @return A free body, or null if there is none.
+     */
+    public T obtain(Sprite sprite) {
+        ArrayDeque<T> bodies = free.get(sprite);
+        return bodies == null ? null : bodies.pollFirst();
+    }
+
+    /**
+     * Gives a body that left the world back to the pool.
+     *
+     * @param body The body to keep.
+     */
+    public void free(T body) {
+        ArrayDeque<T> bodies = free.computeIfAbsent(body.getSprite(), sprite -> new ArrayDeque<>());
+        if (bodies.size() < capacity) {
+            bodies.addFirst(body);
+        }
+    }
+
+    /**
+     * Gets the number of free bodies of the given sprite.
+     *
+     * @param sprite The sprite.
+     * @return The number of free bodies.
+     */
+    public int size(Sprite sprite) {
+        ArrayDeque<T> bodies = free.get(sprite);
+        return bodies == null ? 0 : bodies.size();
+    }
+}
@@ -0,0 +1,158 @@
+package com.game.sim;
+
+import java.util.SplittableRandom;
+
+/**
+ * Controls played by a simple policy instead of a person, for batch runs.
+ */
+public class BotControls implements Controls {
+
+    /**
+     * How the bot picks its moves.
+     */
+    public enum Policy {
+        /** Mashes a random direction every now and then, forward more often. */
+        RANDOM,
+        /** Hops forward as soon as it can, never looking. */
+        FORWARD,
+        /**
+         * Hops forward when the row ahead stays clear for the next hop, steps
+         * back when its own row is about to be hit, waits otherwise.
+         */
+        CAREFUL
+    }
+
+    private static final int UP = 1;
+    private static final int DOWN = 2;
+    private static final int LEFT = 4;
+    private static final int RIGHT = 8;
+
+    // a hop takes 150 ms and the next one can only start 200 ms after it;
+    // a row has to stay clear for about two hops
+    private static final long LOOKAHEAD_TICKS = (long) Math.ceil(400 / World.STEP_MILLIS);
+
+    private final World world;
+    private final Policy policy;
+    private final SplittableRandom rnd;
+    private int state = 0;
+
+    /**
+     * Constructor for the BotControls class.
+     *
+     * @param world  The world the bot plays in, its first player being the
+     *               one steered.
+     * @param policy The policy.
+     * @param seed   The seed of the random policy.
+     */
+    public BotControls(World world, Policy policy, long seed) {
+        this.world = world;
+        this.policy = policy;
+        this.rnd = new SplittableRandom(seed);
+    }
+
+    /**
+     * Decides the move for the coming tick.
+     */
+    @Override
+    public void poll() {
+        switch (policy) {
+            case RANDOM:
+                if (rnd.nextInt(30) == 0) {
+                    int roll = rnd.nextInt(8);
+                    state = roll < 3 ? UP : roll == 3 ? DOWN : roll == 4 ? LEFT : roll == 5 ? RIGHT : 0;
+                }
+                break;
+            case FORWARD:
+                state = UP;
+                break;
+            case CAREFUL:
+                state = careful(world.getPlayers().get(0));
+                break;
+            default:
+                state = 0;
+        }
+    }
+
+    /**
+     * Picks the move of the careful policy.
+     *
+     * @param player The player steered.
+     * @return The move bits.
+     */
+    private int careful(PlayerBody player) {
+        if (player.isJumping()) {
+            return 0;
+        }
+        int row = (int) Math.floor(player.getCenterY() / Grid.SIZE);
+        if (row > 0 && isClear(player, row - 1)) {
+            return UP;
+        }
+        if (!isClear(player, row) && row + 1 < Grid.HEIGHT && isClear(player, row + 1)) {
+            return DOWN;
+        }
+        return 0;
+    }
+
+    /**
+     * Checks if no obstacle of the row crosses the column of the player within
+     * the lookahead.
+     *
+     * @param player The player steered.
+     * @param row    The grid row.
+     * @return True if the row stays clear, false otherwise.
+     */
+    private boolean isClear(PlayerBody player, int row) {
+        double left = player.getX() - Grid.SIZE / 4;
+        double right = player.getX() + player.getWidth() + Grid.SIZE / 4;
+        for (ObstacleBody obstacle : world.getObstacles()) {
+            if (obstacle.getLane() != row) {
+                continue;
+            }
+            double end = obstacle.getX() + obstacle.getDx() * LOOKAHEAD_TICKS;
+            if (Math.min(obstacle.getX(), end) <= right && Math.max(obstacle.getX(), end) + obstacle.getWidth() >= left) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the player is moving up.
+     *
+     * @return True if the player is moving up, false otherwise.
+     */
+    @Override
+    public boolean isMoveUp() {
+        return (state & UP) != 0;
+    }
+
+    /**
+     * Checks if the player is moving down.
+     *
+     * @return True if the player is moving down, false otherwise.
+     */
+    @Override
+    public boolean isMoveDown() {
+        return (state & DOWN) != 0;
+    }
+
+    /**
+     * Checks if the player is moving left.
+     *
+     * @return True if the player is moving left, false otherwise.
+     */
+    @Override
+    public boolean isMoveLeft() {
+        return (state & LEFT) != 0;
+    }
+
+    /**
+     * Checks if the player is moving right.
+     *
+     * @return True if the player is moving right, false otherwise.
+     */
+    @Override
+    public boolean isMoveRight() {
+        return (state & RIGHT) != 0;
+    }
+}
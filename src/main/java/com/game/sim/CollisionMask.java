@@ -0,0 +1,128 @@
+package com.game.sim;
+
+/**
+ * The opaque pixels of a sprite, one bit per pixel, packed into 64-bit words
+ * row by row. Two masks are tested against each other a word at a time, so a
+ * sprite one cell wide costs one AND per overlapping row.
+ */
+public class CollisionMask {
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] bits;
+
+    /**
+     * Constructor for the CollisionMask class.
+     *
+     * @param width  The width in pixels.
+     * @param height The height in pixels.
+     * @param bits   The rows of the mask, {@code (width + 63) / 64} words
+     *               each, bit {@code i} of a word being the pixel {@code i}
+     *               columns right of the first pixel of the word.
+     */
+    public CollisionMask(int width, int height, long[] bits) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        if (bits.length != wordsPerRow * height) {
+            throw new IllegalArgumentException("expected " + wordsPerRow * height + " words, got " + bits.length);
+        }
+        this.bits = bits;
+    }
+
+    /**
+     * Builds a mask from ARGB pixels, a pixel being solid when its alpha is at
+     * least the given threshold.
+     *
+     * @param width    The width in pixels.
+     * @param height   The height in pixels.
+     * @param argb     The pixels, row by row.
+     * @param minAlpha The lowest alpha of a solid pixel, from 1 to 255.
+     * @return The mask.
+     */
+    public static CollisionMask fromArgb(int width, int height, int[] argb, int minAlpha) {
+        int wordsPerRow = (width + 63) >>> 6;
+        long[] bits = new long[wordsPerRow * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (argb[y * width + x] >>> 24 >= minAlpha) {
+                    bits[y * wordsPerRow + (x >>> 6)] |= 1L << (x & 63);
+                }
+            }
+        }
+        return new CollisionMask(width, height, bits);
+    }
+
+    /**
+     * Checks if a solid pixel of this mask covers a solid pixel of another.
+     *
+     * @param other   The other mask.
+     * @param offsetX The X position of the other mask relative to this one, in
+     *                pixels.
+     * @param offsetY The Y position of the other mask relative to this one, in
+     *                pixels.
+     * @return True if the masks overlap, false otherwise.
+     */
+    public boolean overlaps(CollisionMask other, int offsetX, int offsetY) {
+        int top = Math.max(0, offsetY);
+        int bottom = Math.min(height, offsetY + other.height);
+        int left = Math.max(0, offsetX);
+        int right = Math.min(width, offsetX + other.width);
+        if (top >= bottom || left >= right) {
+            return false;
+        }
+
+        int firstWord = left >>> 6;
+        int lastWord = (right - 1) >>> 6;
+        for (int y = top; y < bottom; y++) {
+            int row = y * wordsPerRow;
+            int otherRow = (y - offsetY) * other.wordsPerRow;
+            for (int word = firstWord; word <= lastWord; word++) {
+                long mine = bits[row + word];
+                if (mine != 0 && (mine & other.wordAt(otherRow, (word << 6) - offsetX)) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the 64 pixels of a row starting at any column, columns outside the
+     * mask being empty.
+     *
+     * @param row    The index of the first word of the row.
+     * @param column The first column, may be negative or unaligned.
+     * @return The pixels as a word.
+     */
+    private long wordAt(int row, int column) {
+        // arithmetic shift and mask round towards negative infinity
+        int word = column >> 6;
+        int shift = column & 63;
+        long low = word >= 0 && word < wordsPerRow ? bits[row + word] >>> shift : 0;
+        if (shift == 0) {
+            return low;
+        }
+        long high = word + 1 >= 0 && word + 1 < wordsPerRow ? bits[row + word + 1] << (64 - shift) : 0;
+        return low | high;
+    }
+
+    /**
+     * Gets the width of the mask.
+     *
+     * @return The width in pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the mask.
+     *
+     * @return The height in pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,40 @@
+package com.game.sim;
+
+public interface Controls {
+
+    /**
+     * Latches the state read during the coming tick. Called once per tick
+     * before any of the moves are checked.
+     */
+    default void poll() {
+    }
+
+    /**
+     * Checks if the player is moving up.
+     *
+     * @return True if the player is moving up, false otherwise.
+     */
+    boolean isMoveUp();
+
+    /**
+     * Checks if the player is moving down.
+     *
+     * @return True if the player is moving down, false otherwise.
+     */
+    boolean isMoveDown();
+
+    /**
+     * Checks if the player is moving left.
+     *
+     * @return True if the player is moving left, false otherwise.
+     */
+    boolean isMoveLeft();
+
+    /**
+     * Checks if the player is moving right.
+     *
+     * @return True if the player is moving right, false otherwise.
+     */
+    boolean isMoveRight();
+
+}
@@ -0,0 +1,111 @@
+package com.game.sim;
+
+import java.util.Locale;
+
+import com.game.Settings;
+
+/**
+ * The spawn rates and obstacle speeds of a world. A world gets its own copy,
+ * so worlds with different difficulties can run side by side; the defaults
+ * come from {@link Settings}.
+ * <p>
+ * Written as {@code key=value} pairs separated by commas, e.g.
+ * {@code enemy=80,train=300,carSpeed=520}. The keys are {@code enemy},
+ * {@code train}, {@code log}, {@code powerUp} (one in how many reference
+ * frames spawns one), {@code carSpeed}, {@code carSpeedVariation},
+ * {@code trainSpeed}, {@code trainSpeedVariation} and {@code logSpeed}
+ * (pixels per second).
+ */
+public class Difficulty {
+
+    int enemySpawnRandomness = Settings.ENEMY_SPAWN_RANDOMNESS;
+    int trainSpawnRandomness = Settings.TRAIN_SPAWN_RANDOMNESS;
+    int logSpawnRandomness = Settings.LOG_SPAWN_RANDOMNESS;
+    int powerUpSpawnRandomness = Settings.POWERUP_SPAWN_RANDOMNESS;
+    double carSpeed = Settings.CAR_SPEED;
+    double carSpeedVariation = Settings.CAR_SPEED_VARIATION;
+    double trainSpeed = Settings.TRAIN_SPEED;
+    double trainSpeedVariation = Settings.TRAIN_SPEED_VARIATION;
+    double logSpeed = Settings.LOG_SPEED;
+
+    /**
+     * Constructor for the Difficulty class, with the current settings.
+     */
+    public Difficulty() {
+    }
+
+    /**
+     * Parses a difficulty, the keys left out keeping the current settings.
+     *
+     * @param spec The {@code key=value} pairs, separated by commas.
+     * @return The difficulty.
+     */
+    public static Difficulty parse(String spec) {
+        Difficulty difficulty = new Difficulty();
+        for (String pair : spec.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("expected key=value, got " + pair);
+            }
+            difficulty.set(pair.substring(0, eq).trim(), pair.substring(eq + 1).trim());
+        }
+        return difficulty;
+    }
+
+    /**
+     * Sets one parameter.
+     *
+     * @param key   The name of the parameter.
+     * @param value The value.
+     */
+    public void set(String key, String value) {
+        switch (key) {
+            case "enemy":
+                enemySpawnRandomness = Integer.parseInt(value);
+                break;
+            case "train":
+                trainSpawnRandomness = Integer.parseInt(value);
+                break;
+            case "log":
+                logSpawnRandomness = Integer.parseInt(value);
+                break;
+            case "powerUp":
+                powerUpSpawnRandomness = Integer.parseInt(value);
+                break;
+            case "carSpeed":
+                carSpeed = Double.parseDouble(value);
+                break;
+            case "carSpeedVariation":
+                carSpeedVariation = Double.parseDouble(value);
+                break;
+            case "trainSpeed":
+                trainSpeed = Double.parseDouble(value);
+                break;
+            case "trainSpeedVariation":
+                trainSpeedVariation = Double.parseDouble(value);
+                break;
+            case "logSpeed":
+                logSpeed = Double.parseDouble(value);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown difficulty parameter " + key);
+        }
+    }
+
+    /**
+     * Formats the difficulty the way {@link #parse(String)} reads it.
+     *
+     * @return The {@code key=value} pairs.
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "enemy=%d,train=%d,log=%d,powerUp=%d,carSpeed=%s,carSpeedVariation=%s,trainSpeed=%s,"
+                        + "trainSpeedVariation=%s,logSpeed=%s",
+                enemySpawnRandomness, trainSpawnRandomness, logSpawnRandomness, powerUpSpawnRandomness, carSpeed,
+                carSpeedVariation, trainSpeed, trainSpeedVariation, logSpeed);
+    }
+}
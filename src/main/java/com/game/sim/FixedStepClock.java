@@ -0,0 +1,68 @@
+package com.game.sim;
+
+/**
+ * Turns the variable frame times of the display into a whole number of fixed
+ * simulation ticks. Unspent frame time is kept in an accumulator and exposed
+ * as the interpolation factor for rendering.
+ */
+public class FixedStepClock {
+
+    /**
+     * Frames longer than this (a dragged window, a debugger pause) are clamped
+     * so the simulation doesn't try to catch up all at once.
+     */
+    private static final long MAX_FRAME_NANOS = 250_000_000L;
+
+    private final long stepNanos;
+
+    private long lastNanos = -1;
+    private long accumulator = 0;
+
+    /**
+     * Constructor for the FixedStepClock class.
+     *
+     * @param stepNanos The length of one simulation tick in nanoseconds.
+     */
+    public FixedStepClock(long stepNanos) {
+        this.stepNanos = stepNanos;
+    }
+
+    /**
+     * Advances the clock to the given time.
+     *
+     * @param now The current time in nanoseconds, as passed to the animation
+     *            timer.
+     * @return The number of ticks the simulation has to run.
+     */
+    public int advance(long now) {
+        if (lastNanos < 0) {
+            lastNanos = now;
+            return 0;
+        }
+
+        long frame = Math.min(now - lastNanos, MAX_FRAME_NANOS);
+        lastNanos = now;
+        accumulator += Math.max(frame, 0);
+
+        int steps = (int) (accumulator / stepNanos);
+        accumulator -= steps * stepNanos;
+        return steps;
+    }
+
+    /**
+     * Gets how far the current frame is past the last tick.
+     *
+     * @return The interpolation factor in [0, 1).
+     */
+    public double getAlpha() {
+        return accumulator / (double) stepNanos;
+    }
+
+    /**
+     * Forgets the last frame time, so the next frame starts a fresh count.
+     */
+    public void reset() {
+        lastNanos = -1;
+        accumulator = 0;
+    }
+}
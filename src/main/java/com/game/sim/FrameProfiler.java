@@ -0,0 +1,150 @@
+package com.game.sim;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+
+/**
+ * Keeps a {@link LatencyHistogram} per phase of a frame, so a dropped frame
+ * can be pinned on collisions, the scene graph sync or whatever else took the
+ * time. The world times its own phases once per tick, the game times the rest
+ * once per frame.
+ */
+public class FrameProfiler {
+
+    /**
+     * The timed phases. The world phases are measured per tick, a frame runs
+     * as many ticks as it has to catch up on.
+     */
+    public enum Phase {
+        FRAME("frame"),
+        STEP("step"),
+        TIMERS("timers"),
+        TERRAIN("terrain"),
+        INPUT("input"),
+        SPAWN("spawn"),
+        MOVE("move"),
+        COLLISION("collision"),
+        REMOVAL("removal"),
+        POWER_UPS("power ups"),
+        UI_SYNC("ui sync"),
+        SCORE("score");
+
+        private final String label;
+
+        /**
+         * Constructor for the Phase enum.
+         *
+         * @param label The name of the phase in reports.
+         */
+        Phase(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Gets the name of the phase in reports.
+         *
+         * @return The label.
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final EnumMap<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+
+    /**
+     * Constructor for the FrameProfiler class.
+     */
+    public FrameProfiler() {
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Records the duration of a phase.
+     *
+     * @param phase The phase.
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(Phase phase, long nanos) {
+        histograms.get(phase).record(nanos);
+    }
+
+    /**
+     * Records the time since the given start for a phase, to chain the phases
+     * of a frame with one clock read each.
+     *
+     * @param phase The phase that just ended.
+     * @param start The {@link System#nanoTime()} the phase started at.
+     * @return The current {@link System#nanoTime()}, the start of the next
+     *         phase.
+     */
+    public long lap(Phase phase, long start) {
+        long now = System.nanoTime();
+        histograms.get(phase).record(now - start);
+        return now;
+    }
+
+    /**
+     * Gets the histogram of a phase.
+     *
+     * @param phase The phase.
+     * @return The histogram.
+     */
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms.get(phase);
+    }
+
+    /**
+     * Forgets every recorded duration.
+     */
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * Formats the p50, p99 and max of every phase in microseconds, one phase
+     * per line.
+     *
+     * @return The report.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT, "%-10s %8s %8s %8s%n", "us", "p50", "p99",
+                "max"));
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = histograms.get(phase);
+            out.append(String.format(Locale.ROOT, "%-10s %8.1f %8.1f %8.1f%n", phase.getLabel(),
+                    histogram.getPercentile(0.5) / 1e3, histogram.getPercentile(0.99) / 1e3,
+                    histogram.getMax() / 1e3));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes the count, mean, p50, p99 and max of every phase in microseconds
+     * as CSV, replacing the file.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file can't be written.
+     */
+    public void writeCsv(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path); PrintWriter out = new PrintWriter(writer)) {
+            out.println("phase,count,mean_us,p50_us,p99_us,max_us");
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = histograms.get(phase);
+                out.printf(Locale.ROOT, "%s,%d,%.3f,%.3f,%.3f,%.3f%n", phase.getLabel(), histogram.getCount(),
+                        histogram.getMean() / 1e3, histogram.getPercentile(0.5) / 1e3,
+                        histogram.getPercentile(0.99) / 1e3, histogram.getMax() / 1e3);
+            }
+            if (out.checkError()) {
+                throw new IOException("could not write " + path);
+            }
+        }
+    }
+}
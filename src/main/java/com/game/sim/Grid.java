@@ -0,0 +1,47 @@
+package com.game.sim;
+
+import com.game.Settings;
+
+/**
+ * The grid the world is laid out on. Kept apart from {@link com.game.Map},
+ * which draws it, so the simulation runs without JavaFX.
+ */
+public final class Grid {
+
+    public static final int SIZE = 80; // Size of each grid cell
+    public static final int WIDTH = (int) (Settings.SCENE_WIDTH / SIZE);
+    public static final int HEIGHT = (int) (Settings.SCENE_HEIGHT / SIZE);
+
+    private Grid() {
+    }
+
+    /**
+     * Converts grid coordinates to pixel coordinates.
+     *
+     * @param gridPosition The grid position.
+     * @return The pixel position.
+     */
+    public static double gridToPixel(int gridPosition) {
+        return gridPosition * SIZE;
+    }
+
+    /**
+     * Converts pixel coordinates to grid coordinates.
+     *
+     * @param pixelPosition The pixel position.
+     * @return The grid position.
+     */
+    public static int pixelToGrid(double pixelPosition) {
+        return (int) (pixelPosition / SIZE);
+    }
+
+    /**
+     * Snaps a position to the nearest grid position.
+     *
+     * @param position The position to snap.
+     * @return The snapped position.
+     */
+    public static double snapToGrid(double position) {
+        return Math.round(position / SIZE) * SIZE;
+    }
+}
@@ -0,0 +1,148 @@
+package com.game.sim;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded ring of timestamped key events between one producer, the thread
+ * receiving the key events, and one consumer, the thread running the ticks.
+ * Neither side locks: the producer publishes a slot by moving the tail past
+ * it, the consumer frees it by moving the head past it, and each only ever
+ * writes its own index.
+ * <p>
+ * Presses can keep a few slots free for releases. As long as no more keys
+ * are down at once than there are reserved slots, and a release is only
+ * offered for a press that was queued, a release is never dropped.
+ */
+public class InputQueue {
+
+    /**
+     * Receives the events drained from the queue.
+     */
+    public interface Handler {
+
+        /**
+         * Handles one key event.
+         *
+         * @param time    When the event was received, in nanoseconds.
+         * @param key     The code of the key.
+         * @param pressed True if the key was pressed, false if it was
+         *                released.
+         */
+        void onKey(long time, int key, boolean pressed);
+    }
+
+    private final long[] times;
+    private final int[] keys;
+    private final boolean[] presses;
+    private final int mask;
+    private final int reserved;
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    // producer side only
+    private long cachedHead = 0;
+    private long dropped = 0;
+
+    /**
+     * Constructor for the InputQueue class, without slots reserved for
+     * releases.
+     *
+     * @param capacity The number of events the queue holds, a power of two.
+     * @throws IllegalArgumentException If the capacity isn't a power of two.
+     */
+    public InputQueue(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * Constructor for the InputQueue class.
+     *
+     * @param capacity The number of events the queue holds, a power of two.
+     * @param reserved The number of slots presses leave free for releases.
+     * @throws IllegalArgumentException If the capacity isn't a power of two
+     *                                  or the reserved slots don't leave
+     *                                  room for a press.
+     */
+    public InputQueue(int capacity, int reserved) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        if (reserved < 0 || reserved >= capacity) {
+            throw new IllegalArgumentException("reserved slots must be in [0, " + capacity + "): " + reserved);
+        }
+        times = new long[capacity];
+        keys = new int[capacity];
+        presses = new boolean[capacity];
+        mask = capacity - 1;
+        this.reserved = reserved;
+    }
+
+    /**
+     * Appends an event. Called by the producer only.
+     *
+     * @param time    When the event was received, in nanoseconds.
+     * @param key     The code of the key.
+     * @param pressed True if the key was pressed, false if it was released.
+     * @return True if the event was queued, false if the queue was full, or
+     *         only had reserved slots left for a press, and the event
+     *         dropped.
+     */
+    public boolean offer(long time, int key, boolean pressed) {
+        long t = tail.get();
+        long limit = pressed ? mask - reserved : mask;
+        if (t - cachedHead > limit) {
+            cachedHead = head.get();
+            if (t - cachedHead > limit) {
+                dropped++;
+                return false;
+            }
+        }
+        int slot = (int) t & mask;
+        times[slot] = time;
+        keys[slot] = key;
+        presses[slot] = pressed;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Hands every queued event to the handler, oldest first. Called by the
+     * consumer only.
+     *
+     * @param handler The handler.
+     * @return The number of events drained.
+     */
+    public int drain(Handler handler) {
+        long h = head.get();
+        long t = tail.get();
+        for (long i = h; i < t; i++) {
+            int slot = (int) i & mask;
+            handler.onKey(times[slot], keys[slot], presses[slot]);
+        }
+        head.lazySet(t);
+        return (int) (t - h);
+    }
+
+    /**
+     * Drops every queued event. Called by the consumer only.
+     *
+     * @return The number of events dropped.
+     */
+    public int clear() {
+        long h = head.get();
+        long t = tail.get();
+        head.lazySet(t);
+        return (int) (t - h);
+    }
+
+    /**
+     * Gets the number of events dropped because the queue was full. Called by
+     * the producer only.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,212 @@
+package com.game.sim;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.game.Settings;
+
+/**
+ * Records the input of one session while passing it through to the player.
+ * The state of the four moves is sampled once per tick and kept as runs of
+ * identical ticks, so an idle player costs nothing and a whole session is a
+ * few kilobytes.
+ * <p>
+ * The log starts with everything needed to rebuild the session: the tick rate,
+ * the seed of the world, the size of every sprite, which sprites hit on their
+ * {@link SpriteMasks} pixels and whether obstacles spawn on generated lanes.
+ * {@link InputReplay} reads it back.
+ */
+public class InputRecorder implements Controls {
+
+    static final int MAGIC = 0x43524952; // "CRIR"
+    static final int VERSION = 3;
+
+    static final int UP = 1;
+    static final int DOWN = 2;
+    static final int LEFT = 4;
+    static final int RIGHT = 8;
+
+    private final Controls source;
+    private final World world;
+    private final long seed;
+    private final double[] spriteSizes;
+    private final int maskedSprites;
+    private final boolean endlessLanes;
+
+    private final ByteArrayOutputStream runs = new ByteArrayOutputStream();
+    private int runCount = 0;
+    private int state = -1;
+    private long runLength = 0;
+    private long ticks = 0;
+
+    /**
+     * Constructor for the InputRecorder class. Create it right after the world
+     * was reset, before the first tick of the session.
+     *
+     * @param source The controls to record.
+     * @param world  The world the session runs in.
+     */
+    public InputRecorder(Controls source, World world) {
+        this.source = source;
+        this.world = world;
+        this.seed = world.getSeed();
+
+        Sprite[] sprites = Sprite.values();
+        spriteSizes = new double[sprites.length * 2];
+        for (Sprite sprite : sprites) {
+            spriteSizes[sprite.ordinal() * 2] = world.getSpriteWidth(sprite);
+            spriteSizes[sprite.ordinal() * 2 + 1] = world.getSpriteHeight(sprite);
+        }
+        int masked = 0;
+        for (Sprite sprite : sprites) {
+            if (world.getCollisionMask(sprite) != null) {
+                masked |= 1 << sprite.ordinal();
+            }
+        }
+        maskedSprites = masked;
+        endlessLanes = world.getTerrain() != null;
+    }
+
+    /**
+     * Samples the source for the coming tick and appends it to the log.
+     */
+    @Override
+    public void poll() {
+        source.poll();
+        int bits = (source.isMoveUp() ? UP : 0) | (source.isMoveDown() ? DOWN : 0)
+                | (source.isMoveLeft() ? LEFT : 0) | (source.isMoveRight() ? RIGHT : 0);
+        if (bits != state) {
+            closeRun();
+            state = bits;
+        }
+        runLength++;
+        ticks++;
+    }
+
+    /**
+     * Checks if the player is moving up.
+     *
+     * @return True if the player is moving up, false otherwise.
+     */
+    @Override
+    public boolean isMoveUp() {
+        return (state & UP) != 0;
+    }
+
+    /**
+     * Checks if the player is moving down.
+     *
+     * @return True if the player is moving down, false otherwise.
+     */
+    @Override
+    public boolean isMoveDown() {
+        return (state & DOWN) != 0;
+    }
+
+    /**
+     * Checks if the player is moving left.
+     *
+     * @return True if the player is moving left, false otherwise.
+     */
+    @Override
+    public boolean isMoveLeft() {
+        return (state & LEFT) != 0;
+    }
+
+    /**
+     * Checks if the player is moving right.
+     *
+     * @return True if the player is moving right, false otherwise.
+     */
+    @Override
+    public boolean isMoveRight() {
+        return (state & RIGHT) != 0;
+    }
+
+    /**
+     * Gets the number of recorded ticks.
+     *
+     * @return The number of ticks.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Writes the log to a file, replacing it.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file can't be written.
+     */
+    public void save(Path path) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            writeTo(out);
+        }
+    }
+
+    /**
+     * Writes the log recorded so far. Recording can go on afterwards.
+     *
+     * @param out The stream to write to, left open.
+     * @throws IOException If the stream can't be written.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeInt(Settings.TICK_RATE);
+        data.writeLong(seed);
+        data.writeByte(spriteSizes.length / 2);
+        for (double size : spriteSizes) {
+            data.writeDouble(size);
+        }
+        data.writeInt(maskedSprites);
+        data.writeBoolean(endlessLanes);
+
+        // the score at the last tick lets the replay tell if it diverged
+        data.writeLong(ticks);
+        data.writeInt(world.getPoint());
+
+        // the open run is written without being closed
+        data.writeInt(runLength > 0 ? runCount + 1 : runCount);
+        runs.writeTo(data);
+        if (runLength > 0) {
+            writeRun(data, state, runLength);
+        }
+        data.flush();
+    }
+
+    private void closeRun() {
+        if (runLength > 0) {
+            writeRun(runs, state, runLength);
+            runCount++;
+        }
+        runLength = 0;
+    }
+
+    /**
+     * Writes a run as its state byte followed by its length as a variable
+     * length integer, 7 bits per byte.
+     *
+     * @param out    The stream to write to.
+     * @param bits   The input state of the run.
+     * @param length The number of ticks of the run.
+     */
+    private static void writeRun(OutputStream out, int bits, long length) {
+        try {
+            out.write(bits);
+            while (length >= 0x80) {
+                out.write((int) (length & 0x7F) | 0x80);
+                length >>>= 7;
+            }
+            out.write((int) length);
+        } catch (IOException e) {
+            throw new RuntimeException("could not write the input log", e);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.game.sim;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.game.Settings;
+
+/**
+ * Plays back a log written by {@link InputRecorder}, one recorded tick per
+ * {@link #poll()}. Once the log runs out the player stands still.
+ */
+public class InputReplay implements Controls {
+
+    private final long seed;
+    private final double[] spriteSizes;
+    private final int maskedSprites;
+    private final boolean endlessLanes;
+    private final long ticks;
+    private final int point;
+
+    private final byte[] states;
+    private final long[] lengths;
+
+    private int run = 0;
+    private long left = 0;
+    private int state = 0;
+    private long played = 0;
+
+    /**
+     * Constructor for the InputReplay class.
+     *
+     * @param in The stream to read the log from, left open.
+     * @throws IOException If the stream can't be read or isn't an input log.
+     */
+    public InputReplay(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != InputRecorder.MAGIC) {
+            throw new IOException("not an input log");
+        }
+        int version = data.readUnsignedByte();
+        if (version != InputRecorder.VERSION) {
+            throw new IOException("unsupported input log version " + version);
+        }
+        int tickRate = data.readInt();
+        if (tickRate != Settings.TICK_RATE) {
+            throw new IOException("input log recorded at " + tickRate + " ticks per second, game runs at "
+                    + Settings.TICK_RATE);
+        }
+        seed = data.readLong();
+        spriteSizes = new double[data.readUnsignedByte() * 2];
+        for (int i = 0; i < spriteSizes.length; i++) {
+            spriteSizes[i] = data.readDouble();
+        }
+        maskedSprites = data.readInt();
+        endlessLanes = data.readBoolean();
+        ticks = data.readLong();
+        point = data.readInt();
+
+        int runCount = data.readInt();
+        states = new byte[runCount];
+        lengths = new long[runCount];
+        for (int i = 0; i < runCount; i++) {
+            states[i] = data.readByte();
+            lengths[i] = readLength(data);
+        }
+    }
+
+    /**
+     * Reads a log from a file.
+     *
+     * @param path The file to read.
+     * @return The replay.
+     * @throws IOException If the file can't be read or isn't an input log.
+     */
+    public static InputReplay load(Path path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            return new InputReplay(in);
+        }
+    }
+
+    /**
+     * Creates a world set up like the recorded one: same seed, same sprite
+     * sizes, the same sprites hitting on their pixels and the same lanes.
+     *
+     * @return The world to replay the log in.
+     */
+    public World createWorld() {
+        World world = new World(seed);
+        Sprite[] sprites = Sprite.values();
+        for (int i = 0; i < sprites.length && i * 2 < spriteSizes.length; i++) {
+            world.setSpriteSize(sprites[i], spriteSizes[i * 2], spriteSizes[i * 2 + 1]);
+        }
+        SpriteMasks.apply(world);
+        for (Sprite sprite : sprites) {
+            if ((maskedSprites & 1 << sprite.ordinal()) == 0) {
+                world.setCollisionMask(sprite, null);
+            }
+        }
+        if (endlessLanes) {
+            // generated lanes come out the same on any thread, so the replay
+            // generates them inline
+            world.setTerrain(new LaneStream(new LaneGenerator(seed), null, 2, 1));
+        }
+        return world;
+    }
+
+    /**
+     * Moves on to the next recorded tick.
+     */
+    @Override
+    public void poll() {
+        while (left == 0 && run < states.length) {
+            state = states[run];
+            left = lengths[run];
+            run++;
+        }
+        if (left == 0) {
+            state = 0;
+            return;
+        }
+        left--;
+        played++;
+    }
+
+    /**
+     * Checks if the player is moving up.
+     *
+     * @return True if the player is moving up, false otherwise.
+     */
+    @Override
+    public boolean isMoveUp() {
+        return (state & InputRecorder.UP) != 0;
+    }
+
+    /**
+     * Checks if the player is moving down.
+     *
+     * @return True if the player is moving down, false otherwise.
+     */
+    @Override
+    public boolean isMoveDown() {
+        return (state & InputRecorder.DOWN) != 0;
+    }
+
+    /**
+     * Checks if the player is moving left.
+     *
+     * @return True if the player is moving left, false otherwise.
+     */
+    @Override
+    public boolean isMoveLeft() {
+        return (state & InputRecorder.LEFT) != 0;
+    }
+
+    /**
+     * Checks if the player is moving right.
+     *
+     * @return True if the player is moving right, false otherwise.
+     */
+    @Override
+    public boolean isMoveRight() {
+        return (state & InputRecorder.RIGHT) != 0;
+    }
+
+    /**
+     * Checks if every recorded tick was played.
+     *
+     * @return True if the log ran out, false otherwise.
+     */
+    public boolean isFinished() {
+        return played >= ticks;
+    }
+
+    /**
+     * Gets the seed of the recorded session.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the number of recorded ticks.
+     *
+     * @return The number of ticks.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets the score the recorded session had at its last tick.
+     *
+     * @return The recorded score.
+     */
+    public int getPoint() {
+        return point;
+    }
+
+    private static long readLength(DataInputStream data) throws IOException {
+        long length = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = data.readUnsignedByte();
+            length |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return length;
+    }
+}
@@ -0,0 +1,72 @@
+package com.game.sim;
+
+/**
+ * A fixed run of consecutive grid rows with their lane type and the
+ * direction traffic drives in. Chunks are immutable once generated, so they
+ * can be built on any thread and read from the simulation thread.
+ */
+public class LaneChunk {
+
+    /**
+     * Number of grid rows per chunk.
+     */
+    public static final int ROWS = 16;
+
+    private final long index;
+    private final LaneType[] types;
+    private final int[] directions;
+
+    /**
+     * Constructor for the LaneChunk class.
+     *
+     * @param index      The index of the chunk; chunk i covers rows
+     *                   {@code i * ROWS} to {@code i * ROWS + ROWS - 1}.
+     * @param types      The lane type of every row.
+     * @param directions The direction of every row, -1 for leftwards traffic
+     *                   and 1 for rightwards traffic.
+     */
+    LaneChunk(long index, LaneType[] types, int[] directions) {
+        this.index = index;
+        this.types = types;
+        this.directions = directions;
+    }
+
+    /**
+     * Gets the chunk index a grid row belongs to.
+     *
+     * @param row The grid row.
+     * @return The chunk index.
+     */
+    public static long indexOf(int row) {
+        return Math.floorDiv(row, ROWS);
+    }
+
+    /**
+     * Gets the index of the chunk.
+     *
+     * @return The chunk index.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the lane type of a row of the chunk.
+     *
+     * @param row The grid row, which must lie in this chunk.
+     * @return The lane type.
+     */
+    public LaneType getType(int row) {
+        return types[(int) (row - index * ROWS)];
+    }
+
+    /**
+     * Gets the traffic direction of a row of the chunk.
+     *
+     * @param row The grid row, which must lie in this chunk.
+     * @return -1 for leftwards traffic, 1 for rightwards traffic.
+     */
+    public int getDirection(int row) {
+        return directions[(int) (row - index * ROWS)];
+    }
+}
@@ -0,0 +1,63 @@
+package com.game.sim;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates lane chunks from a seed. Every chunk is derived from the seed and
+ * its own index only, so chunks can be generated in any order, on any thread,
+ * and regenerated after being dropped with the exact same lanes.
+ */
+public class LaneGenerator {
+
+    private final long seed;
+
+    /**
+     * Constructor for the LaneGenerator class.
+     *
+     * @param seed The seed of the world.
+     */
+    public LaneGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates a chunk. Lanes come in runs of the same type: a few grass
+     * rows to rest on, one to four roads, single rails and up to three river
+     * rows.
+     *
+     * @param index The index of the chunk.
+     * @return The chunk.
+     */
+    public LaneChunk generate(long index) {
+        SplittableRandom rnd = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+
+        LaneType[] types = new LaneType[LaneChunk.ROWS];
+        int[] directions = new int[LaneChunk.ROWS];
+
+        int row = 0;
+        while (row < LaneChunk.ROWS) {
+            LaneType type;
+            int run;
+            int roll = rnd.nextInt(100);
+            if (roll < 30) {
+                type = LaneType.GRASS;
+                run = 1 + rnd.nextInt(3);
+            } else if (roll < 75) {
+                type = LaneType.ROAD;
+                run = 1 + rnd.nextInt(4);
+            } else if (roll < 90) {
+                type = LaneType.RAIL;
+                run = 1;
+            } else {
+                type = LaneType.RIVER;
+                run = 1 + rnd.nextInt(3);
+            }
+
+            for (int i = 0; i < run && row < LaneChunk.ROWS; i++, row++) {
+                types[row] = type;
+                directions[row] = rnd.nextBoolean() ? 1 : -1;
+            }
+        }
+        return new LaneChunk(index, types, directions);
+    }
+}
@@ -0,0 +1,174 @@
+package com.game.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buckets obstacles by the grid row they drive in, each bucket kept sorted by
+ * X. Cars and trains never change rows, so a body only has to be tested
+ * against the obstacles of the one or two rows it overlaps, and only against
+ * the slice of those rows that can reach it horizontally.
+ * <p>
+ * Buckets form a ring indexed by the row modulo the bucket count, so rows can
+ * be any integer, negative ones ahead of the start included, as long as the
+ * rows that hold obstacles at the same time fit in the ring. A bucket may
+ * still hold a few obstacles of a row one ring length away; lookups skip
+ * them.
+ */
+public class LaneIndex {
+
+    private final List<ArrayList<ObstacleBody>> lanes = new ArrayList<>();
+    private final double[] maxWidths;
+    private final double[] maxSpeeds;
+    private final int mask;
+
+    /**
+     * Constructor for the LaneIndex class.
+     *
+     * @param laneCount The number of grid rows holding obstacles at the same
+     *                  time, rounded up to a power of two.
+     */
+    public LaneIndex(int laneCount) {
+        int n = Integer.highestOneBit(Math.max(laneCount - 1, 1)) << 1;
+        for (int i = 0; i < n; i++) {
+            lanes.add(new ArrayList<>());
+        }
+        maxWidths = new double[n];
+        maxSpeeds = new double[n];
+        mask = n - 1;
+    }
+
+    /**
+     * Adds an obstacle to the bucket of its lane.
+     *
+     * @param obstacle The obstacle to add.
+     */
+    public void add(ObstacleBody obstacle) {
+        int lane = obstacle.getLane() & mask;
+        ArrayList<ObstacleBody> bucket = lanes.get(lane);
+
+        // spawns come in at either screen edge, so inserting in place is cheap
+        int i = lowerBound(bucket, obstacle.getX());
+        bucket.add(i, obstacle);
+        maxWidths[lane] = Math.max(maxWidths[lane], obstacle.getWidth());
+        maxSpeeds[lane] = Math.max(maxSpeeds[lane], Math.abs(obstacle.getDx()));
+    }
+
+    /**
+     * Restores the X order of every lane after the obstacles moved. Obstacles
+     * only overtake each other now and then, so an insertion sort over the
+     * nearly sorted buckets is linear in practice.
+     */
+    public void update() {
+        for (ArrayList<ObstacleBody> bucket : lanes) {
+            for (int i = 1; i < bucket.size(); i++) {
+                ObstacleBody obstacle = bucket.get(i);
+                int j = i - 1;
+                while (j >= 0 && bucket.get(j).getX() > obstacle.getX()) {
+                    bucket.set(j + 1, bucket.get(j));
+                    j--;
+                }
+                bucket.set(j + 1, obstacle);
+            }
+        }
+    }
+
+    /**
+     * Drops every obstacle flagged as removable, in one pass per lane.
+     */
+    public void removeRemovables() {
+        for (int lane = 0; lane < lanes.size(); lane++) {
+            ArrayList<ObstacleBody> bucket = lanes.get(lane);
+            bucket.removeIf(Body::isRemovable);
+            if (bucket.isEmpty()) {
+                maxWidths[lane] = 0;
+                maxSpeeds[lane] = 0;
+            }
+        }
+    }
+
+    /**
+     * Removes every obstacle.
+     */
+    public void clear() {
+        for (int lane = 0; lane < lanes.size(); lane++) {
+            lanes.get(lane).clear();
+            maxWidths[lane] = 0;
+            maxSpeeds[lane] = 0;
+        }
+    }
+
+    /**
+     * Collects the obstacles whose rows and X range overlap the area the given
+     * body swept over the last tick, widened by how far an obstacle of each
+     * lane moves in a tick, so the candidates cover a swept test as well as a
+     * discrete one. The result is a broadphase; callers still run the exact
+     * test.
+     *
+     * @param body The body to look up.
+     * @param out  The list the candidates are added to, cleared first.
+     * @return The list of candidates.
+     */
+    public List<ObstacleBody> query(Body body, List<ObstacleBody> out) {
+        out.clear();
+
+        double top = Math.min(body.prevY, body.y);
+        double bottom = Math.max(body.prevY, body.y) + body.h;
+        int first = (int) Math.floor(top / Grid.SIZE);
+        int last = Math.min((int) Math.floor(bottom / Grid.SIZE), first + mask);
+
+        double left = Math.min(body.prevX, body.x);
+        double right = Math.max(body.prevX, body.x) + body.w;
+
+        for (int row = first; row <= last; row++) {
+            int lane = row & mask;
+            ArrayList<ObstacleBody> bucket = lanes.get(lane);
+            double reach = maxSpeeds[lane];
+            for (int i = lowerBound(bucket, left - maxWidths[lane] - reach); i < bucket.size(); i++) {
+                ObstacleBody obstacle = bucket.get(i);
+                if (obstacle.getX() > right + reach) {
+                    break;
+                }
+                if (obstacle.getLane() == row) {
+                    out.add(obstacle);
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Gets the number of indexed obstacles.
+     *
+     * @return The number of obstacles.
+     */
+    public int size() {
+        int size = 0;
+        for (ArrayList<ObstacleBody> bucket : lanes) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    /**
+     * Finds the first position in the bucket whose obstacle starts at or after
+     * the given X.
+     *
+     * @param bucket The sorted bucket.
+     * @param x      The X position.
+     * @return The index of the first obstacle with a greater or equal X.
+     */
+    private static int lowerBound(ArrayList<ObstacleBody> bucket, double x) {
+        int lo = 0;
+        int hi = bucket.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (bucket.get(mid).getX() < x) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
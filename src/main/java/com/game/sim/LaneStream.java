@@ -0,0 +1,140 @@
+package com.game.sim;
+
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Keeps the lane chunks around the camera. Chunks ahead of it are requested
+ * early on a background executor, so they are usually ready before the
+ * camera reaches them; chunks that fell behind are dropped, so the number of
+ * chunks held stays the same however far the player goes.
+ * <p>
+ * Rows grow downwards like screen coordinates, so ahead means smaller rows.
+ */
+public class LaneStream {
+
+    private LaneGenerator generator;
+    private final Executor executor;
+    private final int aheadChunks;
+    private final int behindChunks;
+
+    private final HashMap<Long, CompletableFuture<LaneChunk>> chunks = new HashMap<>();
+
+    private long firstChunk = 0;
+    private long lastChunk = -1;
+
+    /**
+     * Constructor for the LaneStream class.
+     *
+     * @param generator    The generator of the chunks.
+     * @param executor     The executor generating chunks ahead of the
+     *                     camera, or null to generate them on the calling
+     *                     thread.
+     * @param aheadChunks  The number of chunks kept ahead of the visible rows.
+     * @param behindChunks The number of chunks kept behind the visible rows.
+     */
+    public LaneStream(LaneGenerator generator, Executor executor, int aheadChunks, int behindChunks) {
+        this.generator = generator;
+        this.executor = executor;
+        this.aheadChunks = aheadChunks;
+        this.behindChunks = behindChunks;
+    }
+
+    /**
+     * Moves the window of kept chunks to the visible rows. Chunks outside it
+     * are dropped and missing ones are requested.
+     *
+     * @param topRow    The topmost visible grid row.
+     * @param bottomRow The bottommost visible grid row.
+     */
+    public void update(int topRow, int bottomRow) {
+        long first = LaneChunk.indexOf(topRow) - aheadChunks;
+        long last = LaneChunk.indexOf(bottomRow) + behindChunks;
+        if (first == firstChunk && last == lastChunk) {
+            return;
+        }
+        firstChunk = first;
+        lastChunk = last;
+
+        chunks.keySet().removeIf(index -> index < first || index > last);
+        for (long index = first; index <= last; index++) {
+            chunks.computeIfAbsent(index, this::request);
+        }
+    }
+
+    /**
+     * Drops every chunk and generates the next ones from a new seed, for
+     * when the world restarts.
+     *
+     * @param seed The seed of the new session.
+     */
+    public void reset(long seed) {
+        generator = new LaneGenerator(seed);
+        chunks.values().forEach(chunk -> chunk.cancel(false));
+        chunks.clear();
+        firstChunk = 0;
+        lastChunk = -1;
+    }
+
+    /**
+     * Gets the lane type of a grid row.
+     *
+     * @param row The grid row.
+     * @return The lane type.
+     */
+    public LaneType getType(int row) {
+        return chunk(row).getType(row);
+    }
+
+    /**
+     * Gets the traffic direction of a grid row.
+     *
+     * @param row The grid row.
+     * @return -1 for leftwards traffic, 1 for rightwards traffic.
+     */
+    public int getDirection(int row) {
+        return chunk(row).getDirection(row);
+    }
+
+    /**
+     * Gets the number of chunks held, generated or pending.
+     *
+     * @return The number of chunks.
+     */
+    public int size() {
+        return chunks.size();
+    }
+
+    /**
+     * Gets the chunk of a row. A chunk the executor hasn't finished yet is
+     * generated again on the calling thread rather than waited for, since it
+     * comes out the same, and a row outside the window is generated on the
+     * spot without being kept.
+     *
+     * @param row The grid row.
+     * @return The chunk.
+     */
+    private LaneChunk chunk(int row) {
+        long index = LaneChunk.indexOf(row);
+        CompletableFuture<LaneChunk> chunk = chunks.get(index);
+        if (chunk == null) {
+            return generator.generate(index);
+        }
+        LaneChunk ready = chunk.getNow(null);
+        if (ready == null) {
+            ready = generator.generate(index);
+            chunk.cancel(false);
+            chunks.put(index, CompletableFuture.completedFuture(ready));
+        }
+        return ready;
+    }
+
+    private CompletableFuture<LaneChunk> request(long index) {
+        if (executor == null) {
+            return CompletableFuture.completedFuture(generator.generate(index));
+        }
+        LaneGenerator source = generator;
+        return CompletableFuture.supplyAsync(() -> source.generate(index), executor);
+    }
+}
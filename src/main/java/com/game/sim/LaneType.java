@@ -0,0 +1,8 @@
+package com.game.sim;
+
+public enum LaneType {
+    GRASS,
+    ROAD,
+    RAIL,
+    RIVER;
+}
@@ -0,0 +1,77 @@
+package com.game.sim;
+
+import com.game.Settings;
+
+public class ObstacleBody extends Body {
+
+    int lane;
+
+    /**
+     * Constructor for the ObstacleBody class.
+     *
+     * @param sprite The sprite of the obstacle.
+     * @param lane   The grid row the obstacle drives in.
+     * @param x      The X position of the obstacle.
+     * @param y      The Y position of the obstacle.
+     * @param w      The width of the obstacle.
+     * @param h      The height of the obstacle.
+     * @param dx     The X velocity of the obstacle.
+     */
+    public ObstacleBody(Sprite sprite, int lane, double x, double y, double w, double h, double dx) {
+        super(sprite, x, y, w, h, dx, 0);
+        this.lane = lane;
+    }
+
+    /**
+     * Puts a pooled obstacle back on the road as if it had just been created.
+     *
+     * @param lane The grid row the obstacle drives in.
+     * @param x    The X position of the obstacle.
+     * @param y    The Y position of the obstacle.
+     * @param w    The width of the obstacle.
+     * @param h    The height of the obstacle.
+     * @param dx   The X velocity of the obstacle.
+     */
+    public void reset(int lane, double x, double y, double w, double h, double dx) {
+        this.lane = lane;
+        this.x = x;
+        this.y = y;
+        this.r = 0;
+        this.w = w;
+        this.h = h;
+        this.dx = dx;
+        this.dy = 0;
+        this.removable = false;
+        this.canMove = true;
+        savePosition();
+    }
+
+    /**
+     * Gets the grid row the obstacle drives in.
+     *
+     * @return The lane of the obstacle.
+     */
+    public int getLane() {
+        return lane;
+    }
+
+    /**
+     * Checks if the obstacle is removable, once it fell below the view or
+     * drove out of it.
+     *
+     * @param viewTop The world Y at the top of the view.
+     */
+    @Override
+    public void checkRemovability(double viewTop) {
+
+        if (Double.compare(getY(), viewTop + Settings.SCENE_HEIGHT) > 0) {
+            setRemovable(true);
+        }
+
+        // cars and trains leave the screen sideways, in the direction they drive
+        if ((dx < 0 && x + w < 0) || (dx > 0 && x > Settings.SCENE_WIDTH)) {
+            setRemovable(true);
+        }
+
+    }
+}
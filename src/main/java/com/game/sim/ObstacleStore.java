@@ -0,0 +1,219 @@
+package com.game.sim;
+
+import java.util.Arrays;
+
+import com.game.Settings;
+
+/**
+ * Moving obstacles kept as parallel primitive arrays instead of one heap
+ * object each. Movement and removal are tight loops over contiguous memory,
+ * and removed slots are filled by swapping in the last obstacle, so a store
+ * sized for the run never allocates again.
+ * <p>
+ * Meant for stress runs with far more vehicles than {@link World} ever
+ * spawns; an obstacle's Y is not stored since it follows from its lane.
+ */
+public class ObstacleStore {
+
+    private static final Sprite[] SPRITES = Sprite.values();
+
+    double[] x;
+    double[] dx;
+    double[] w;
+    double[] h;
+    int[] lane;
+    int[] sprite;
+
+    int size = 0;
+
+    /**
+     * Constructor for the ObstacleStore class.
+     *
+     * @param capacity The number of obstacles the store holds before it grows.
+     */
+    public ObstacleStore(int capacity) {
+        x = new double[capacity];
+        dx = new double[capacity];
+        w = new double[capacity];
+        h = new double[capacity];
+        lane = new int[capacity];
+        sprite = new int[capacity];
+    }
+
+    /**
+     * Adds an obstacle.
+     *
+     * @param sprite The sprite of the obstacle.
+     * @param lane   The grid row the obstacle drives in.
+     * @param x      The X position of the obstacle.
+     * @param w      The width of the obstacle.
+     * @param h      The height of the obstacle.
+     * @param dx     The X velocity of the obstacle per tick.
+     * @return The slot of the obstacle, valid until the next removal.
+     */
+    public int add(Sprite sprite, int lane, double x, double w, double h, double dx) {
+        if (size == this.x.length) {
+            grow();
+        }
+        int i = size++;
+        this.x[i] = x;
+        this.dx[i] = dx;
+        this.w[i] = w;
+        this.h[i] = h;
+        this.lane[i] = lane;
+        this.sprite[i] = sprite.ordinal();
+        return i;
+    }
+
+    /**
+     * Moves every obstacle by one tick.
+     */
+    public void move() {
+        final double[] x = this.x;
+        final double[] dx = this.dx;
+        for (int i = 0, n = size; i < n; i++) {
+            x[i] += dx[i];
+        }
+    }
+
+    /**
+     * Removes every obstacle that left the screen in the direction it drives.
+     * The last obstacle is swapped into each freed slot, so slots are not
+     * stable across this call.
+     *
+     * @return The number of removed obstacles.
+     */
+    public int removeOffscreen() {
+        final double[] x = this.x;
+        final double[] dx = this.dx;
+        final double[] w = this.w;
+        final double right = Settings.SCENE_WIDTH;
+
+        int removed = 0;
+        int i = 0;
+        while (i < size) {
+            double xi = x[i];
+            double dxi = dx[i];
+            if ((dxi < 0 && xi + w[i] < 0) || (dxi > 0 && xi > right)) {
+                swapRemove(i);
+                removed++;
+            } else {
+                i++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Checks if any obstacle overlaps the given box, with the same inclusive
+     * edges as {@link Body#collidesWith(Body)}.
+     *
+     * @param bx The X position of the box.
+     * @param by The Y position of the box.
+     * @param bw The width of the box.
+     * @param bh The height of the box.
+     * @return The slot of the first overlapping obstacle, or -1 if there is
+     *         none.
+     */
+    public int findOverlap(double bx, double by, double bw, double bh) {
+        int firstLane = Grid.pixelToGrid(Math.max(by, 0));
+        int lastLane = Grid.pixelToGrid(Math.max(by + bh, 0));
+        for (int i = 0, n = size; i < n; i++) {
+            int li = lane[i];
+            if (li < firstLane || li > lastLane) {
+                continue;
+            }
+            double xi = x[i];
+            if (xi + w[i] < bx || xi > bx + bw) {
+                continue;
+            }
+            double yi = Grid.gridToPixel(li) + (Grid.SIZE - h[i]) / 2;
+            if (yi + h[i] >= by && yi <= by + bh) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the obstacle in the given slot by moving the last obstacle into
+     * it.
+     *
+     * @param i The slot to free.
+     */
+    public void swapRemove(int i) {
+        int last = --size;
+        x[i] = x[last];
+        dx[i] = dx[last];
+        w[i] = w[last];
+        h[i] = h[last];
+        lane[i] = lane[last];
+        sprite[i] = sprite[last];
+    }
+
+    /**
+     * Removes every obstacle, keeping the arrays.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Gets the number of obstacles.
+     *
+     * @return The number of obstacles.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the X position of the obstacle in the given slot.
+     *
+     * @param i The slot.
+     * @return The X position.
+     */
+    public double getX(int i) {
+        return x[i];
+    }
+
+    /**
+     * Gets the X velocity of the obstacle in the given slot.
+     *
+     * @param i The slot.
+     * @return The X velocity per tick.
+     */
+    public double getDx(int i) {
+        return dx[i];
+    }
+
+    /**
+     * Gets the lane of the obstacle in the given slot.
+     *
+     * @param i The slot.
+     * @return The grid row.
+     */
+    public int getLane(int i) {
+        return lane[i];
+    }
+
+    /**
+     * Gets the sprite of the obstacle in the given slot.
+     *
+     * @param i The slot.
+     * @return The sprite.
+     */
+    public Sprite getSprite(int i) {
+        return SPRITES[sprite[i]];
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, x.length * 2);
+        x = Arrays.copyOf(x, capacity);
+        dx = Arrays.copyOf(dx, capacity);
+        w = Arrays.copyOf(w, capacity);
+        h = Arrays.copyOf(h, capacity);
+        lane = Arrays.copyOf(lane, capacity);
+        sprite = Arrays.copyOf(sprite, capacity);
+    }
+}
@@ -0,0 +1,303 @@
+package com.game.sim;
+
+import com.game.Settings;
+import com.game.powerUp.DoublePointPowerUp;
+import com.game.powerUp.PowerUp;
+
+public class PlayerBody extends Body {
+    private boolean isDead = false;
+    private boolean isJumping = false;
+    public static final double JUMP_COOLDOWN = 200;
+    static final double JUMP_DURATION = 150;
+    private double lastJumpTime = -JUMP_COOLDOWN;
+    private double jumpStartX;
+    private double jumpStartY;
+    private double jumpStartTime;
+    private final Controls controls;
+    private final World world;
+    private static final double MAX_IDLE_TIME = 3.0; // 3 seconds max idle time
+    private double idleTime = 0;
+    private double lastY = 0;
+    private boolean doublePoints = false;
+    private TimingWheel.Timeout doublePointsExpiry;
+    private boolean hasShield = false;
+    private Sprite killedBy;
+
+    /**
+     * Constructor for the PlayerBody class.
+     *
+     * @param world    The world the player lives in.
+     * @param controls The controls steering the player.
+     * @param x        The X position of the player.
+     * @param y        The Y position of the player.
+     * @param w        The width of the player.
+     * @param h        The height of the player.
+     */
+    public PlayerBody(World world, Controls controls, double x, double y, double w, double h) {
+        super(Sprite.PLAYER, x, y, w, h, 0, 0);
+        this.world = world;
+        this.controls = controls;
+    }
+
+    /**
+     * Checks if the player is dead.
+     *
+     * @return True if the player is dead, false otherwise.
+     */
+    public boolean isDead() {
+        return isDead;
+    }
+
+    /**
+     * Checks if the player collided with an obstacle during the last tick,
+     * sweeping both along their movement so a fast train can't skip over the
+     * player between two ticks. Boxes that touch only count when the opaque
+     * pixels of the sprites do too. A shield absorbs the hit and the obstacle
+     * is taken out of the world so it can't hit again on the next tick.
+     *
+     * @param obstacle The obstacle to check collision with.
+     * @return True if the player was hit, false otherwise.
+     */
+    public boolean checkCollisions(Body obstacle) {
+        if (!sweptPixelsOverlap(obstacle, world.getCollisionMask(getSprite()),
+                world.getCollisionMask(obstacle.getSprite()))) {
+            return false;
+        }
+        if (hasShield) {
+            hasShield = false;
+            obstacle.remove();
+        } else {
+            killedBy = obstacle.getSprite();
+            die();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the sprite of the obstacle that killed the player.
+     *
+     * @return The sprite, or null if the player is alive or died of something
+     *         else than a hit.
+     */
+    public Sprite getKilledBy() {
+        return killedBy;
+    }
+
+    /**
+     * Checks if the player is in the middle of a jump.
+     *
+     * @return True if the player is jumping, false otherwise.
+     */
+    public boolean isJumping() {
+        return isJumping;
+    }
+
+    /**
+     * Gets the world time the current or last jump started at.
+     *
+     * @return The start of the jump in milliseconds.
+     */
+    public double getJumpStartTime() {
+        return jumpStartTime;
+    }
+
+    /**
+     * Kills the player.
+     */
+    void die() {
+        isDead = true;
+        world.gameOver();
+    }
+
+    /**
+     * Processes the input for the player.
+     */
+    public void processInput() {
+        controls.poll();
+        if (isDead) {
+            return;
+        }
+
+        if (!isJumping) {
+            double currentTime = world.getTime();
+            if (currentTime - lastJumpTime >= JUMP_COOLDOWN) {
+                // the player hops within the view, which scrolls with the
+                // camera; sideways it is always the whole scene
+                double viewTop = world.getViewTop();
+                if (controls.isMoveUp() && y > viewTop) {
+                    startJump(0, -1);
+                    world.updateScore(1);
+                    idleTime = 0; // Reset idle time when moving
+
+                } else if (controls.isMoveDown() && y < viewTop + Settings.SCENE_HEIGHT - Grid.SIZE) {
+                    startJump(0, 1);
+                    world.updateScore(-1);
+                    idleTime = 0; // Reset idle time when moving
+                } else if (controls.isMoveLeft() && x > 0) {
+                    startJump(-1, 0);
+                    idleTime = 0; // Reset idle time when moving
+                } else if (controls.isMoveRight() && x < Settings.SCENE_WIDTH - Grid.SIZE) {
+                    startJump(1, 0);
+                    idleTime = 0; // Reset idle time when moving
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts the jump for the player.
+     *
+     * @param deltaX The X delta of the jump.
+     * @param deltaY The Y delta of the jump.
+     */
+    private void startJump(double deltaX, double deltaY) {
+        isJumping = true;
+        jumpStartTime = world.getTime();
+        jumpStartX = x;
+        jumpStartY = y;
+        dx = deltaX * Grid.SIZE;
+        dy = deltaY * Grid.SIZE;
+        lastJumpTime = jumpStartTime;
+    }
+
+    /**
+     * Moves the player along its current jump.
+     */
+    @Override
+    public void move() {
+        if (isDead) {
+            return; // Don't move if dead
+        }
+        if (isJumping) {
+            double jumpTime = world.getTime() - jumpStartTime;
+
+            if (jumpTime >= JUMP_DURATION) {
+                // End jump
+                isJumping = false;
+                // Calculate final position (one full grid space in the jump direction)
+                x = jumpStartX + dx;
+                y = jumpStartY + dy;
+                dx = 0;
+                dy = 0;
+            } else {
+                // Animate the jump
+                double jumpProgress = jumpTime / JUMP_DURATION;
+                double targetX = jumpStartX + dx;
+                double targetY = jumpStartY + dy;
+                x = jumpStartX + (targetX - jumpStartX) * jumpProgress;
+                y = jumpStartY + (targetY - jumpStartY) * jumpProgress;
+                double heightOffset = Math.sin(jumpProgress * Math.PI) * (Grid.SIZE / 3);
+                y -= heightOffset;
+            }
+        }
+    }
+
+    /**
+     * Activates the power up for the player.
+     *
+     * @param powerUp The power up to activate.
+     */
+    public void activatePowerUp(PowerUp powerUp) {
+        if (powerUp instanceof DoublePointPowerUp) {
+            this.doublePoints = true;
+            world.updateScore(2);
+        }
+    }
+
+    /**
+     * Deactivates the power up for the player.
+     *
+     * @param powerUp The power up to deactivate.
+     */
+    public void deactivatePowerUp(PowerUp powerUp) {
+        if (powerUp instanceof DoublePointPowerUp) {
+            this.doublePoints = false;
+        }
+    }
+
+    /**
+     * Sets the double points for the player.
+     *
+     * @param doublePoints The double points to set.
+     */
+    public void setDoublePoints(boolean doublePoints) {
+        this.doublePoints = doublePoints;
+    }
+
+    /**
+     * Turns double points off after the given delay. Picking up another double
+     * point power up before then restarts the countdown instead of letting the
+     * first one cut the second short.
+     *
+     * @param delay The delay in milliseconds of simulated time.
+     */
+    public void expireDoublePointsIn(long delay) {
+        if (doublePointsExpiry != null) {
+            doublePointsExpiry.cancel();
+        }
+        doublePointsExpiry = world.scheduleTask(() -> setDoublePoints(false), delay);
+    }
+
+    /**
+     * Checks if the player has double points.
+     *
+     * @return True if the player has double points, false otherwise.
+     */
+    public boolean isDoublePoints() {
+        return doublePoints;
+    }
+
+    /**
+     * Sets the shield for the player.
+     *
+     * @param shield The shield to set.
+     */
+    public void setShield(boolean shield) {
+        this.hasShield = shield;
+    }
+
+    /**
+     * Checks if the player has a shield.
+     *
+     * @return True if the player has a shield, false otherwise.
+     */
+    public boolean hasShield() {
+        return hasShield;
+    }
+
+    /**
+     * Gets the world of the player.
+     *
+     * @return The world of the player.
+     */
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * Players are only removed when the world is reset.
+     *
+     * @param viewTop The world Y at the top of the view.
+     */
+    @Override
+    public void checkRemovability(double viewTop) {
+    }
+
+    /**
+     * Updates the idle time for the player.
+     *
+     * @param deltaTime The delta time since the last update.
+     */
+    public void updateIdleTime(double deltaTime) {
+        if (y == lastY) {
+            idleTime += deltaTime;
+            if (idleTime >= MAX_IDLE_TIME) {
+                die();
+            }
+        } else {
+            idleTime = 0;
+        }
+        lastY = y;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.game.sim;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Replays a recorded session without a window, as fast as the world steps,
+ * and checks that it ends with the recorded score. Repeating the replay turns
+ * a recorded session into a steady workload for profiling; the time of each
+ * phase of the tick over all runs is printed at the end.
+ * <p>
+ * Usage: {@code java -cp target/classes com.game.sim.ReplayRun <log> [runs]}
+ */
+public class ReplayRun {
+
+    /**
+     * Runs the replay.
+     *
+     * @param args The input log and the number of runs.
+     * @throws IOException If the log can't be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: ReplayRun <log> [runs]");
+            System.exit(2);
+        }
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+        FrameProfiler profiler = new FrameProfiler();
+        boolean diverged = false;
+        for (int run = 0; run < runs; run++) {
+            InputReplay replay = InputReplay.load(Paths.get(args[0]));
+            World world = replay.createWorld();
+            world.setProfiler(profiler);
+            world.createPlayer(replay);
+
+            long slowest = 0;
+            long start = System.nanoTime();
+            while (!replay.isFinished() && !world.isGameOver()) {
+                long stepStart = System.nanoTime();
+                world.step();
+                slowest = Math.max(slowest, System.nanoTime() - stepStart);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            long ticks = world.getTick();
+            boolean match = ticks == replay.getTicks() && world.getPoint() == replay.getPoint();
+            diverged |= !match;
+            System.out.printf("run %d: %d ticks in %.1f ms (%.0fx real time, slowest tick %.1f us), score %d%s%n",
+                    run + 1, ticks, elapsed / 1e6, ticks * World.STEP_NANOS / (double) Math.max(elapsed, 1),
+                    slowest / 1e3, world.getPoint(), match ? "" : ", recorded " + replay.getTicks() + " ticks and score "
+                            + replay.getPoint() + ": DIVERGED");
+        }
+        System.out.print(profiler.format());
+        if (diverged) {
+            System.exit(1);
+        }
+    }
+}
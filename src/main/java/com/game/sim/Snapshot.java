@@ -0,0 +1,541 @@
+package com.game.sim;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.game.powerUp.PowerUp;
+
+/**
+ * The state of a world at one tick, as much as a viewer needs to draw it:
+ * the players with their jump and active effects, the obstacles, the power
+ * ups and the score. Positions are quantized to {@link #POSITION_SCALE}ths of
+ * a pixel and obstacle velocities to {@link #VELOCITY_SCALE}ths of a pixel
+ * per tick, so two snapshots compare exactly and {@link SnapshotCodec} can
+ * encode one as a delta against the other.
+ * <p>
+ * Each kind of body is a table of parallel int arrays sorted by
+ * {@link Body#getId()}. A snapshot is meant to be reused: capturing or
+ * decoding into it only allocates when a table outgrows its arrays.
+ */
+public class Snapshot {
+
+    public static final int POSITION_SCALE = 8;
+    public static final int VELOCITY_SCALE = 1024;
+    public static final int JUMP_PHASES = 256;
+
+    /** World flag: the game is over. */
+    public static final int GAME_OVER = 1;
+    /** World flag: the world is paused. */
+    public static final int PAUSED = 2;
+
+    /** Player flag: the player is dead. */
+    public static final int DEAD = 1;
+    /** Player flag: the player is jumping, in the direction of the jump bits. */
+    public static final int JUMPING = 2;
+    /** Player flag: the player scores double points. */
+    public static final int DOUBLE_POINTS = 4;
+    /** Player flag: the player has a shield. */
+    public static final int SHIELD = 8;
+
+    public static final int JUMP_UP = 0;
+    public static final int JUMP_DOWN = 1 << 4;
+    public static final int JUMP_LEFT = 2 << 4;
+    public static final int JUMP_RIGHT = 3 << 4;
+    public static final int JUMP_DIRECTION = 3 << 4;
+
+    static final int PLAYER_X = 0;
+    static final int PLAYER_Y = 1;
+    static final int PLAYER_FLAGS = 2;
+    static final int PLAYER_PHASE = 3;
+
+    static final int OBSTACLE_SPRITE = 0;
+    static final int OBSTACLE_LANE = 1;
+    static final int OBSTACLE_Y = 2;
+    static final int OBSTACLE_X = 3;
+    static final int OBSTACLE_DX = 4;
+
+    static final int POWER_UP_SPRITE = 0;
+    static final int POWER_UP_X = 1;
+    static final int POWER_UP_Y = 2;
+
+    private static final Sprite[] SPRITES = Sprite.values();
+
+    long tick = -1;
+    int score;
+    int flags;
+
+    final Table players = new Table(4, 1);
+    final Table obstacles = new Table(5, 32);
+    final Table powerUps = new Table(3, 8);
+
+    /**
+     * Captures the state of a world after its last tick.
+     *
+     * @param world The world.
+     * @throws IllegalStateException If the bodies of the world are not in
+     *                               spawn order.
+     */
+    public void capture(World world) {
+        tick = world.getTick();
+        score = world.getPoint();
+        flags = (world.isGameOver() ? GAME_OVER : 0) | (world.isPaused() ? PAUSED : 0);
+
+        List<PlayerBody> playerBodies = world.getPlayers();
+        players.clear();
+        for (int i = 0; i < playerBodies.size(); i++) {
+            PlayerBody player = playerBodies.get(i);
+            int row = players.append(player.id);
+            players.columns[PLAYER_X][row] = quantize(player.x);
+            players.columns[PLAYER_Y][row] = quantize(player.y);
+            players.columns[PLAYER_FLAGS][row] = playerFlags(player);
+            players.columns[PLAYER_PHASE][row] = jumpPhase(player, world.getTime());
+        }
+
+        List<ObstacleBody> obstacleBodies = world.getObstacles();
+        obstacles.clear();
+        for (int i = 0; i < obstacleBodies.size(); i++) {
+            ObstacleBody obstacle = obstacleBodies.get(i);
+            int row = obstacles.append(obstacle.id);
+            obstacles.columns[OBSTACLE_SPRITE][row] = obstacle.sprite.ordinal();
+            obstacles.columns[OBSTACLE_LANE][row] = obstacle.lane;
+            obstacles.columns[OBSTACLE_Y][row] = quantize(obstacle.y - Grid.gridToPixel(obstacle.lane));
+            obstacles.columns[OBSTACLE_X][row] = quantize(obstacle.x);
+            // a stopped obstacle keeps its velocity but stands still
+            obstacles.columns[OBSTACLE_DX][row] = obstacle.canMove
+                    ? (int) Math.round(obstacle.dx * VELOCITY_SCALE) : 0;
+        }
+
+        List<PowerUp> powerUpBodies = world.getPowerUps();
+        powerUps.clear();
+        for (int i = 0; i < powerUpBodies.size(); i++) {
+            PowerUp powerUp = powerUpBodies.get(i);
+            int row = powerUps.append(powerUp.getId());
+            powerUps.columns[POWER_UP_SPRITE][row] = powerUp.getSprite().ordinal();
+            powerUps.columns[POWER_UP_X][row] = quantize(powerUp.getX());
+            powerUps.columns[POWER_UP_Y][row] = quantize(powerUp.getY());
+        }
+    }
+
+    /**
+     * Gets the flags of a player.
+     *
+     * @param player The player.
+     * @return The player flags, with the jump direction if it jumps.
+     */
+    private static int playerFlags(PlayerBody player) {
+        int flags = (player.isDead() ? DEAD : 0) | (player.isDoublePoints() ? DOUBLE_POINTS : 0)
+                | (player.hasShield() ? SHIELD : 0);
+        if (player.isJumping()) {
+            flags |= JUMPING;
+            if (player.dx < 0) {
+                flags |= JUMP_LEFT;
+            } else if (player.dx > 0) {
+                flags |= JUMP_RIGHT;
+            } else if (player.dy > 0) {
+                flags |= JUMP_DOWN;
+            }
+        }
+        return flags;
+    }
+
+    /**
+     * Gets how far a player is into its jump.
+     *
+     * @param player The player.
+     * @param time   The time of the world.
+     * @return The phase from 0 to {@link #JUMP_PHASES} - 1, 0 if it doesn't
+     *         jump.
+     */
+    private static int jumpPhase(PlayerBody player, double time) {
+        if (!player.isJumping()) {
+            return 0;
+        }
+        int phase = (int) ((time - player.getJumpStartTime()) / PlayerBody.JUMP_DURATION * JUMP_PHASES);
+        return Math.max(0, Math.min(JUMP_PHASES - 1, phase));
+    }
+
+    /**
+     * Quantizes a position.
+     *
+     * @param position The position in pixels.
+     * @return The position in {@link #POSITION_SCALE}ths of a pixel.
+     */
+    static int quantize(double position) {
+        return (int) Math.round(position * POSITION_SCALE);
+    }
+
+    /**
+     * Copies another snapshot into this one.
+     *
+     * @param other The snapshot to copy.
+     */
+    public void copyFrom(Snapshot other) {
+        tick = other.tick;
+        score = other.score;
+        flags = other.flags;
+        players.copyFrom(other.players);
+        obstacles.copyFrom(other.obstacles);
+        powerUps.copyFrom(other.powerUps);
+    }
+
+    /**
+     * Checks if another snapshot holds the same state, tick included.
+     *
+     * @param other The snapshot to compare with.
+     * @return True if the snapshots are the same, false otherwise.
+     */
+    public boolean sameAs(Snapshot other) {
+        return tick == other.tick && score == other.score && flags == other.flags
+                && players.sameAs(other.players) && obstacles.sameAs(other.obstacles)
+                && powerUps.sameAs(other.powerUps);
+    }
+
+    /**
+     * Gets the tick the snapshot was taken at.
+     *
+     * @return The tick, -1 if the snapshot is empty.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the score.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the world flags, {@link #GAME_OVER} and {@link #PAUSED}.
+     *
+     * @return The world flags.
+     */
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * Gets the number of players.
+     *
+     * @return The number of players.
+     */
+    public int getPlayerCount() {
+        return players.count;
+    }
+
+    /**
+     * Gets the id of a player.
+     *
+     * @param i The index of the player.
+     * @return The id of the player.
+     */
+    public int getPlayerId(int i) {
+        return players.ids[i];
+    }
+
+    /**
+     * Gets the X position of a player.
+     *
+     * @param i The index of the player.
+     * @return The X position in pixels.
+     */
+    public double getPlayerX(int i) {
+        return players.columns[PLAYER_X][i] / (double) POSITION_SCALE;
+    }
+
+    /**
+     * Gets the Y position of a player, the height of its jump included.
+     *
+     * @param i The index of the player.
+     * @return The Y position in pixels.
+     */
+    public double getPlayerY(int i) {
+        return players.columns[PLAYER_Y][i] / (double) POSITION_SCALE;
+    }
+
+    /**
+     * Gets the flags of a player: {@link #DEAD}, {@link #JUMPING},
+     * {@link #DOUBLE_POINTS}, {@link #SHIELD} and the jump direction.
+     *
+     * @param i The index of the player.
+     * @return The player flags.
+     */
+    public int getPlayerFlags(int i) {
+        return players.columns[PLAYER_FLAGS][i];
+    }
+
+    /**
+     * Gets how far a player is into its jump.
+     *
+     * @param i The index of the player.
+     * @return The phase from 0 to {@link #JUMP_PHASES} - 1.
+     */
+    public int getJumpPhase(int i) {
+        return players.columns[PLAYER_PHASE][i];
+    }
+
+    /**
+     * Gets the number of obstacles.
+     *
+     * @return The number of obstacles.
+     */
+    public int getObstacleCount() {
+        return obstacles.count;
+    }
+
+    /**
+     * Gets the id of an obstacle.
+     *
+     * @param i The index of the obstacle.
+     * @return The id of the obstacle.
+     */
+    public int getObstacleId(int i) {
+        return obstacles.ids[i];
+    }
+
+    /**
+     * Gets the sprite of an obstacle.
+     *
+     * @param i The index of the obstacle.
+     * @return The sprite of the obstacle.
+     */
+    public Sprite getObstacleSprite(int i) {
+        return SPRITES[obstacles.columns[OBSTACLE_SPRITE][i]];
+    }
+
+    /**
+     * Gets the grid row an obstacle drives in.
+     *
+     * @param i The index of the obstacle.
+     * @return The lane of the obstacle.
+     */
+    public int getObstacleLane(int i) {
+        return obstacles.columns[OBSTACLE_LANE][i];
+    }
+
+    /**
+     * Gets the X position of an obstacle.
+     *
+     * @param i The index of the obstacle.
+     * @return The X position in pixels.
+     */
+    public double getObstacleX(int i) {
+        return obstacles.columns[OBSTACLE_X][i] / (double) POSITION_SCALE;
+    }
+
+    /**
+     * Gets the Y position of an obstacle.
+     *
+     * @param i The index of the obstacle.
+     * @return The Y position in pixels.
+     */
+    public double getObstacleY(int i) {
+        return Grid.gridToPixel(obstacles.columns[OBSTACLE_LANE][i])
+                + obstacles.columns[OBSTACLE_Y][i] / (double) POSITION_SCALE;
+    }
+
+    /**
+     * Gets the X velocity of an obstacle.
+     *
+     * @param i The index of the obstacle.
+     * @return The X velocity in pixels per tick.
+     */
+    public double getObstacleDx(int i) {
+        return obstacles.columns[OBSTACLE_DX][i] / (double) VELOCITY_SCALE;
+    }
+
+    /**
+     * Gets the number of power ups.
+     *
+     * @return The number of power ups.
+     */
+    public int getPowerUpCount() {
+        return powerUps.count;
+    }
+
+    /**
+     * Gets the id of a power up.
+     *
+     * @param i The index of the power up.
+     * @return The id of the power up.
+     */
+    public int getPowerUpId(int i) {
+        return powerUps.ids[i];
+    }
+
+    /**
+     * Gets the sprite of a power up.
+     *
+     * @param i The index of the power up.
+     * @return The sprite of the power up.
+     */
+    public Sprite getPowerUpSprite(int i) {
+        return SPRITES[powerUps.columns[POWER_UP_SPRITE][i]];
+    }
+
+    /**
+     * Gets the X position of a power up.
+     *
+     * @param i The index of the power up.
+     * @return The X position in pixels.
+     */
+    public double getPowerUpX(int i) {
+        return powerUps.columns[POWER_UP_X][i] / (double) POSITION_SCALE;
+    }
+
+    /**
+     * Gets the Y position of a power up.
+     *
+     * @param i The index of the power up.
+     * @return The Y position in pixels.
+     */
+    public double getPowerUpY(int i) {
+        return powerUps.columns[POWER_UP_Y][i] / (double) POSITION_SCALE;
+    }
+
+    /**
+     * The bodies of one kind: their ids, ascending, and one int array per
+     * field.
+     */
+    static final class Table {
+
+        int count = 0;
+        int[] ids;
+        final int[][] columns;
+
+        /**
+         * Constructor for the Table class.
+         *
+         * @param fields   The number of fields per body.
+         * @param capacity The number of bodies the table holds before it
+         *                 grows.
+         */
+        Table(int fields, int capacity) {
+            ids = new int[capacity];
+            columns = new int[fields][capacity];
+        }
+
+        /**
+         * Removes every body.
+         */
+        void clear() {
+            count = 0;
+        }
+
+        /**
+         * Adds a body after the last one.
+         *
+         * @param id The id of the body.
+         * @return The row of the body.
+         * @throws IllegalStateException If the id is not above the last one.
+         */
+        int append(int id) {
+            if (count > 0 && id <= ids[count - 1]) {
+                throw new IllegalStateException("bodies out of spawn order: " + id + " after " + ids[count - 1]);
+            }
+            if (count == ids.length) {
+                grow(count + 1);
+            }
+            ids[count] = id;
+            return count++;
+        }
+
+        /**
+         * Adds a body where its id belongs.
+         *
+         * @param id The id of the body.
+         * @return The row of the body.
+         * @throws IllegalArgumentException If the table already holds the id.
+         */
+        int insert(int id) {
+            int row = Arrays.binarySearch(ids, 0, count, id);
+            if (row >= 0) {
+                throw new IllegalArgumentException("body " + id + " added twice");
+            }
+            row = -row - 1;
+            if (count == ids.length) {
+                grow(count + 1);
+            }
+            System.arraycopy(ids, row, ids, row + 1, count - row);
+            for (int[] column : columns) {
+                System.arraycopy(column, row, column, row + 1, count - row);
+            }
+            ids[row] = id;
+            count++;
+            return row;
+        }
+
+        /**
+         * Finds the row of a body.
+         *
+         * @param id The id of the body.
+         * @return The row, negative if the table doesn't hold the id.
+         */
+        int find(int id) {
+            return Arrays.binarySearch(ids, 0, count, id);
+        }
+
+        /**
+         * Copies a body to another row.
+         *
+         * @param from The row to copy.
+         * @param to   The row to copy to.
+         */
+        void copyRow(int from, int to) {
+            ids[to] = ids[from];
+            for (int[] column : columns) {
+                column[to] = column[from];
+            }
+        }
+
+        /**
+         * Copies another table into this one.
+         *
+         * @param other The table to copy.
+         */
+        void copyFrom(Table other) {
+            if (ids.length < other.count) {
+                grow(other.count);
+            }
+            System.arraycopy(other.ids, 0, ids, 0, other.count);
+            for (int i = 0; i < columns.length; i++) {
+                System.arraycopy(other.columns[i], 0, columns[i], 0, other.count);
+            }
+            count = other.count;
+        }
+
+        /**
+         * Checks if another table holds the same bodies.
+         *
+         * @param other The table to compare with.
+         * @return True if the tables are the same, false otherwise.
+         */
+        boolean sameAs(Table other) {
+            if (count != other.count || !Arrays.equals(ids, 0, count, other.ids, 0, count)) {
+                return false;
+            }
+            for (int i = 0; i < columns.length; i++) {
+                if (!Arrays.equals(columns[i], 0, count, other.columns[i], 0, count)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Grows the arrays to hold at least the given number of bodies.
+         *
+         * @param capacity The number of bodies to hold.
+         */
+        private void grow(int capacity) {
+            int size = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, size);
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = Arrays.copyOf(columns[i], size);
+            }
+        }
+    }
+}
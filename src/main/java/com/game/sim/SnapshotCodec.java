@@ -0,0 +1,567 @@
+package com.game.sim;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes snapshots as compact binary, either whole or as the changes since a
+ * baseline snapshot the reader already has. A delta holds the bodies removed
+ * since the baseline, the bodies added, and the fields that changed of the
+ * others; an obstacle is only written when it strayed from the straight line
+ * its velocity in the baseline predicts, so most of the moving traffic costs
+ * nothing. Decoding a delta against its baseline gives back the encoded
+ * snapshot exactly.
+ * <p>
+ * Layout, with varints as in protocol buffers and signed values zigzag
+ * encoded:
+ * <pre>
+ * byte    {@link #FORMAT}
+ * varlong tick
+ * varlong 0 for a whole snapshot, else tick - baseline tick + 1
+ * varint  score
+ * byte    world flags
+ * players, obstacles, power ups, each as:
+ *   removed ids, then changed bodies, both lists ended by a 0
+ * </pre>
+ * Ids are written as the gap to the id before them in the list, so they are
+ * never 0. A changed player is its position, flags and jump phase; an added
+ * obstacle its sprite, lane, Y within the lane, X and velocity, a moved one
+ * the error of the prediction and the change of velocity; a power up its
+ * sprite and position. Bodies the baseline has carry positions relative to
+ * it.
+ * <p>
+ * Encoding and decoding read and write the given buffers and snapshots only,
+ * so a caller reusing them allocates nothing.
+ */
+public final class SnapshotCodec {
+
+    public static final byte FORMAT = 1;
+
+    private static final int END = 0;
+    private static final int HEADER_MAX_SIZE = 1 + 10 + 10 + 5 + 1;
+    private static final int REMOVED_MAX_SIZE = 5;
+    private static final int PLAYER_MAX_SIZE = 5 + 5 + 5 + 1 + 1;
+    private static final int OBSTACLE_MAX_SIZE = 5 + 1 + 5 + 5 + 5 + 5;
+    private static final int POWER_UP_MAX_SIZE = 5 + 1 + 5 + 5;
+
+    private static final int VELOCITY_PER_POSITION = Snapshot.VELOCITY_SCALE / Snapshot.POSITION_SCALE;
+
+    private static final int SPRITE_COUNT = Sprite.values().length;
+
+    private static final Snapshot EMPTY = new Snapshot();
+
+    private SnapshotCodec() {
+    }
+
+    /**
+     * Gets the most bytes {@link #encode} can write.
+     *
+     * @param base    The baseline, or null for a whole snapshot.
+     * @param current The snapshot to encode.
+     * @return The size bound in bytes.
+     */
+    public static int maxSize(Snapshot base, Snapshot current) {
+        int removed = base == null ? 0 : base.players.count + base.obstacles.count + base.powerUps.count;
+        return HEADER_MAX_SIZE + 6 + REMOVED_MAX_SIZE * removed + PLAYER_MAX_SIZE * current.players.count
+                + OBSTACLE_MAX_SIZE * current.obstacles.count + POWER_UP_MAX_SIZE * current.powerUps.count;
+    }
+
+    /**
+     * Encodes a snapshot.
+     *
+     * @param base    The baseline the reader has, or null to encode the whole
+     *                snapshot.
+     * @param current The snapshot to encode.
+     * @param out     The buffer to write to, with room for
+     *                {@link #maxSize(Snapshot, Snapshot)} bytes.
+     * @throws IllegalArgumentException If the baseline is later than the
+     *                                  snapshot, or a body changed sprite or
+     *                                  lane without a new id.
+     */
+    public static void encode(Snapshot base, Snapshot current, ByteBuffer out) {
+        if (base != null && (base.tick < 0 || base.tick > current.tick)) {
+            throw new IllegalArgumentException("baseline tick " + base.tick + " for snapshot of tick " + current.tick);
+        }
+        Snapshot from = base != null ? base : EMPTY;
+        long ticks = current.tick - from.tick;
+
+        out.put(FORMAT);
+        putVarLong(out, current.tick);
+        putVarLong(out, base == null ? 0 : ticks + 1);
+        putVarInt(out, zigzag(current.score));
+        out.put((byte) current.flags);
+
+        putRemoved(from.players, current.players, out);
+        putPlayers(from.players, current.players, out);
+        putRemoved(from.obstacles, current.obstacles, out);
+        putObstacles(from.obstacles, current.obstacles, ticks, out);
+        putRemoved(from.powerUps, current.powerUps, out);
+        putPowerUps(from.powerUps, current.powerUps, out);
+    }
+
+    /**
+     * Reads the baseline tick of an encoded snapshot, without consuming it.
+     *
+     * @param in The buffer positioned at the snapshot.
+     * @return The tick of the baseline, -1 for a whole snapshot.
+     * @throws IllegalArgumentException If the format is unknown.
+     */
+    public static long getBaseline(ByteBuffer in) {
+        int start = in.position();
+        try {
+            checkFormat(in.get());
+            long tick = getVarLong(in);
+            long baseline = getVarLong(in);
+            return baseline == 0 ? -1 : tick - (baseline - 1);
+        } finally {
+            in.position(start);
+        }
+    }
+
+    /**
+     * Decodes a snapshot.
+     *
+     * @param base The baseline the snapshot was encoded against, ignored for
+     *             a whole snapshot.
+     * @param in   The buffer to read from, positioned at the snapshot.
+     * @param into The snapshot to decode into, not the baseline.
+     * @throws IllegalArgumentException If the format is unknown, the baseline
+     *                                  is not the one the snapshot was
+     *                                  encoded against, or the snapshot
+     *                                  doesn't fit it.
+     */
+    public static void decode(Snapshot base, ByteBuffer in, Snapshot into) {
+        if (into == base) {
+            throw new IllegalArgumentException("can't decode a snapshot into its baseline");
+        }
+        checkFormat(in.get());
+        long tick = getVarLong(in);
+        long baseline = getVarLong(in);
+        Snapshot from = EMPTY;
+        if (baseline != 0) {
+            long baseTick = tick - (baseline - 1);
+            if (base == null || base.tick != baseTick) {
+                throw new IllegalArgumentException("snapshot of tick " + tick + " needs the baseline of tick "
+                        + baseTick + ", not " + (base == null ? "none" : Long.toString(base.tick)));
+            }
+            from = base;
+        }
+        long ticks = tick - from.tick;
+
+        into.tick = tick;
+        into.score = unzigzag(getVarInt(in));
+        into.flags = in.get() & 0xFF;
+
+        getRemoved(from.players, in, into.players);
+        getPlayers(in, into.players);
+        getRemoved(from.obstacles, in, into.obstacles);
+        predictObstacles(into.obstacles, ticks);
+        getObstacles(in, into.obstacles);
+        getRemoved(from.powerUps, in, into.powerUps);
+        getPowerUps(in, into.powerUps);
+    }
+
+    /**
+     * Writes the ids of the baseline bodies that are gone.
+     *
+     * @param base    The bodies of the baseline.
+     * @param current The bodies of the snapshot.
+     * @param out     The buffer to write to.
+     */
+    private static void putRemoved(Snapshot.Table base, Snapshot.Table current, ByteBuffer out) {
+        int previous = -1;
+        int j = 0;
+        for (int i = 0; i < base.count; i++) {
+            int id = base.ids[i];
+            while (j < current.count && current.ids[j] < id) {
+                j++;
+            }
+            if (j == current.count || current.ids[j] != id) {
+                putVarInt(out, id - previous);
+                previous = id;
+            }
+        }
+        putVarInt(out, END);
+    }
+
+    /**
+     * Copies the bodies of the baseline that are not removed.
+     *
+     * @param base The bodies of the baseline.
+     * @param in   The buffer to read the removed ids from.
+     * @param into The bodies to decode into.
+     * @throws IllegalArgumentException If a removed id is not in the
+     *                                  baseline.
+     */
+    private static void getRemoved(Snapshot.Table base, ByteBuffer in, Snapshot.Table into) {
+        into.copyFrom(base);
+        int removed = nextId(in, -1);
+        int kept = 0;
+        for (int i = 0; i < into.count; i++) {
+            int id = into.ids[i];
+            if (removed == id) {
+                removed = nextId(in, removed);
+                continue;
+            }
+            if (removed >= 0 && removed < id) {
+                break;
+            }
+            into.copyRow(i, kept++);
+        }
+        if (removed >= 0) {
+            throw new IllegalArgumentException("removed body " + removed + " is not in the baseline");
+        }
+        into.count = kept;
+    }
+
+    /**
+     * Writes the players that were added or changed.
+     *
+     * @param base    The players of the baseline.
+     * @param current The players of the snapshot.
+     * @param out     The buffer to write to.
+     */
+    private static void putPlayers(Snapshot.Table base, Snapshot.Table current, ByteBuffer out) {
+        int[] x = current.columns[Snapshot.PLAYER_X];
+        int[] y = current.columns[Snapshot.PLAYER_Y];
+        int[] flags = current.columns[Snapshot.PLAYER_FLAGS];
+        int[] phase = current.columns[Snapshot.PLAYER_PHASE];
+        int previous = -1;
+        int k = 0;
+        for (int i = 0; i < current.count; i++) {
+            int id = current.ids[i];
+            while (k < base.count && base.ids[k] < id) {
+                k++;
+            }
+            int baseX = 0;
+            int baseY = 0;
+            if (k < base.count && base.ids[k] == id) {
+                baseX = base.columns[Snapshot.PLAYER_X][k];
+                baseY = base.columns[Snapshot.PLAYER_Y][k];
+                if (x[i] == baseX && y[i] == baseY && flags[i] == base.columns[Snapshot.PLAYER_FLAGS][k]
+                        && phase[i] == base.columns[Snapshot.PLAYER_PHASE][k]) {
+                    continue;
+                }
+            }
+            putVarInt(out, id - previous);
+            previous = id;
+            putVarInt(out, zigzag(x[i] - baseX));
+            putVarInt(out, zigzag(y[i] - baseY));
+            out.put((byte) flags[i]);
+            out.put((byte) phase[i]);
+        }
+        putVarInt(out, END);
+    }
+
+    /**
+     * Reads the players that were added or changed.
+     *
+     * @param in   The buffer to read from.
+     * @param into The players kept from the baseline, to update.
+     */
+    private static void getPlayers(ByteBuffer in, Snapshot.Table into) {
+        int[][] columns = into.columns;
+        for (int id = nextId(in, -1); id >= 0; id = nextId(in, id)) {
+            int row = into.find(id);
+            if (row < 0) {
+                row = into.insert(id);
+                columns[Snapshot.PLAYER_X][row] = 0;
+                columns[Snapshot.PLAYER_Y][row] = 0;
+            }
+            columns[Snapshot.PLAYER_X][row] += unzigzag(getVarInt(in));
+            columns[Snapshot.PLAYER_Y][row] += unzigzag(getVarInt(in));
+            columns[Snapshot.PLAYER_FLAGS][row] = in.get() & 0xFF;
+            columns[Snapshot.PLAYER_PHASE][row] = in.get() & 0xFF;
+        }
+    }
+
+    /**
+     * Writes the obstacles that were added, and the ones that didn't move
+     * as predicted.
+     *
+     * @param base    The obstacles of the baseline.
+     * @param current The obstacles of the snapshot.
+     * @param ticks   The ticks since the baseline.
+     * @param out     The buffer to write to.
+     * @throws IllegalArgumentException If an obstacle changed sprite or lane.
+     */
+    private static void putObstacles(Snapshot.Table base, Snapshot.Table current, long ticks, ByteBuffer out) {
+        int[] sprite = current.columns[Snapshot.OBSTACLE_SPRITE];
+        int[] lane = current.columns[Snapshot.OBSTACLE_LANE];
+        int[] y = current.columns[Snapshot.OBSTACLE_Y];
+        int[] x = current.columns[Snapshot.OBSTACLE_X];
+        int[] dx = current.columns[Snapshot.OBSTACLE_DX];
+        int previous = -1;
+        int k = 0;
+        for (int i = 0; i < current.count; i++) {
+            int id = current.ids[i];
+            while (k < base.count && base.ids[k] < id) {
+                k++;
+            }
+            if (k < base.count && base.ids[k] == id) {
+                if (sprite[i] != base.columns[Snapshot.OBSTACLE_SPRITE][k]
+                        || lane[i] != base.columns[Snapshot.OBSTACLE_LANE][k]
+                        || y[i] != base.columns[Snapshot.OBSTACLE_Y][k]) {
+                    throw new IllegalArgumentException("obstacle " + id + " changed lane or sprite");
+                }
+                int baseDx = base.columns[Snapshot.OBSTACLE_DX][k];
+                int error = x[i] - predictX(base.columns[Snapshot.OBSTACLE_X][k], baseDx, ticks);
+                if (error == 0 && dx[i] == baseDx) {
+                    continue;
+                }
+                putVarInt(out, id - previous);
+                putVarInt(out, zigzag(error));
+                putVarInt(out, zigzag(dx[i] - baseDx));
+            } else {
+                putVarInt(out, id - previous);
+                out.put((byte) sprite[i]);
+                putVarInt(out, zigzag(lane[i]));
+                putVarInt(out, zigzag(y[i]));
+                putVarInt(out, zigzag(x[i]));
+                putVarInt(out, zigzag(dx[i]));
+            }
+            previous = id;
+        }
+        putVarInt(out, END);
+    }
+
+    /**
+     * Moves the obstacles kept from the baseline along their velocity.
+     *
+     * @param obstacles The obstacles.
+     * @param ticks     The ticks since the baseline.
+     */
+    private static void predictObstacles(Snapshot.Table obstacles, long ticks) {
+        int[] x = obstacles.columns[Snapshot.OBSTACLE_X];
+        int[] dx = obstacles.columns[Snapshot.OBSTACLE_DX];
+        for (int i = 0; i < obstacles.count; i++) {
+            x[i] = predictX(x[i], dx[i], ticks);
+        }
+    }
+
+    /**
+     * Reads the obstacles that were added, and the corrections of the ones
+     * that didn't move as predicted.
+     *
+     * @param in   The buffer to read from.
+     * @param into The obstacles kept from the baseline, already moved.
+     */
+    private static void getObstacles(ByteBuffer in, Snapshot.Table into) {
+        int[][] columns = into.columns;
+        for (int id = nextId(in, -1); id >= 0; id = nextId(in, id)) {
+            int row = into.find(id);
+            if (row >= 0) {
+                columns[Snapshot.OBSTACLE_X][row] += unzigzag(getVarInt(in));
+                columns[Snapshot.OBSTACLE_DX][row] += unzigzag(getVarInt(in));
+            } else {
+                row = into.insert(id);
+                columns[Snapshot.OBSTACLE_SPRITE][row] = sprite(in.get());
+                columns[Snapshot.OBSTACLE_LANE][row] = unzigzag(getVarInt(in));
+                columns[Snapshot.OBSTACLE_Y][row] = unzigzag(getVarInt(in));
+                columns[Snapshot.OBSTACLE_X][row] = unzigzag(getVarInt(in));
+                columns[Snapshot.OBSTACLE_DX][row] = unzigzag(getVarInt(in));
+            }
+        }
+    }
+
+    /**
+     * Writes the power ups that were added or moved.
+     *
+     * @param base    The power ups of the baseline.
+     * @param current The power ups of the snapshot.
+     * @param out     The buffer to write to.
+     * @throws IllegalArgumentException If a power up changed sprite.
+     */
+    private static void putPowerUps(Snapshot.Table base, Snapshot.Table current, ByteBuffer out) {
+        int[] sprite = current.columns[Snapshot.POWER_UP_SPRITE];
+        int[] x = current.columns[Snapshot.POWER_UP_X];
+        int[] y = current.columns[Snapshot.POWER_UP_Y];
+        int previous = -1;
+        int k = 0;
+        for (int i = 0; i < current.count; i++) {
+            int id = current.ids[i];
+            while (k < base.count && base.ids[k] < id) {
+                k++;
+            }
+            if (k < base.count && base.ids[k] == id) {
+                if (sprite[i] != base.columns[Snapshot.POWER_UP_SPRITE][k]) {
+                    throw new IllegalArgumentException("power up " + id + " changed sprite");
+                }
+                int moveX = x[i] - base.columns[Snapshot.POWER_UP_X][k];
+                int moveY = y[i] - base.columns[Snapshot.POWER_UP_Y][k];
+                if (moveX == 0 && moveY == 0) {
+                    continue;
+                }
+                putVarInt(out, id - previous);
+                putVarInt(out, zigzag(moveX));
+                putVarInt(out, zigzag(moveY));
+            } else {
+                putVarInt(out, id - previous);
+                out.put((byte) sprite[i]);
+                putVarInt(out, zigzag(x[i]));
+                putVarInt(out, zigzag(y[i]));
+            }
+            previous = id;
+        }
+        putVarInt(out, END);
+    }
+
+    /**
+     * Reads the power ups that were added or moved.
+     *
+     * @param in   The buffer to read from.
+     * @param into The power ups kept from the baseline, to update.
+     */
+    private static void getPowerUps(ByteBuffer in, Snapshot.Table into) {
+        int[][] columns = into.columns;
+        for (int id = nextId(in, -1); id >= 0; id = nextId(in, id)) {
+            int row = into.find(id);
+            if (row >= 0) {
+                columns[Snapshot.POWER_UP_X][row] += unzigzag(getVarInt(in));
+                columns[Snapshot.POWER_UP_Y][row] += unzigzag(getVarInt(in));
+            } else {
+                row = into.insert(id);
+                columns[Snapshot.POWER_UP_SPRITE][row] = sprite(in.get());
+                columns[Snapshot.POWER_UP_X][row] = unzigzag(getVarInt(in));
+                columns[Snapshot.POWER_UP_Y][row] = unzigzag(getVarInt(in));
+            }
+        }
+    }
+
+    /**
+     * Predicts where an obstacle is after some ticks, the same way on both
+     * ends.
+     *
+     * @param x     The X position of the obstacle.
+     * @param dx    The X velocity of the obstacle.
+     * @param ticks The number of ticks.
+     * @return The predicted X position.
+     */
+    static int predictX(int x, int dx, long ticks) {
+        return x + (int) Math.floorDiv(dx * ticks + VELOCITY_PER_POSITION / 2, VELOCITY_PER_POSITION);
+    }
+
+    /**
+     * Reads the next id of a list.
+     *
+     * @param in       The buffer to read from.
+     * @param previous The id before it, -1 for the first.
+     * @return The id, -1 at the end of the list.
+     */
+    private static int nextId(ByteBuffer in, int previous) {
+        int gap = getVarInt(in);
+        return gap == END ? -1 : previous + gap;
+    }
+
+    /**
+     * Checks a sprite read from a snapshot.
+     *
+     * @param value The sprite byte.
+     * @return The sprite ordinal.
+     * @throws IllegalArgumentException If there is no such sprite.
+     */
+    private static int sprite(byte value) {
+        if (value < 0 || value >= SPRITE_COUNT) {
+            throw new IllegalArgumentException("unknown sprite " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Checks the format byte of a snapshot.
+     *
+     * @param format The format byte.
+     * @throws IllegalArgumentException If the format is unknown.
+     */
+    private static void checkFormat(byte format) {
+        if (format != FORMAT) {
+            throw new IllegalArgumentException("unknown snapshot format " + format);
+        }
+    }
+
+    /**
+     * Maps a signed value to an unsigned one, small magnitudes to small
+     * values.
+     *
+     * @param value The signed value.
+     * @return The zigzag encoded value.
+     */
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Maps a zigzag encoded value back to the signed one.
+     *
+     * @param value The zigzag encoded value.
+     * @return The signed value.
+     */
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes an int seven bits per byte, the lowest first.
+     *
+     * @param out   The buffer to write to.
+     * @param value The value, taken as unsigned.
+     */
+    private static void putVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Writes a long seven bits per byte, the lowest first.
+     *
+     * @param out   The buffer to write to.
+     * @param value The value, taken as unsigned.
+     */
+    private static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads an int written by {@link #putVarInt(ByteBuffer, int)}.
+     *
+     * @param in The buffer to read from.
+     * @return The value.
+     * @throws IllegalArgumentException If the varint is too long.
+     */
+    private static int getVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint too long");
+    }
+
+    /**
+     * Reads a long written by {@link #putVarLong(ByteBuffer, long)}.
+     *
+     * @param in The buffer to read from.
+     * @return The value.
+     * @throws IllegalArgumentException If the varlong is too long.
+     */
+    private static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varlong too long");
+    }
+}
@@ -0,0 +1,84 @@
+package com.game.sim;
+
+/**
+ * The last few snapshots of a world, kept so a delta can be encoded against
+ * whichever one the reader acknowledged last. The snapshots are allocated
+ * once and overwritten oldest first.
+ */
+public class SnapshotHistory {
+
+    private final Snapshot[] snapshots;
+    private int next = 0;
+
+    /**
+     * Constructor for the SnapshotHistory class.
+     *
+     * @param capacity The number of snapshots to keep.
+     * @throws IllegalArgumentException If the capacity is not positive.
+     */
+    public SnapshotHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        snapshots = new Snapshot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            snapshots[i] = new Snapshot();
+        }
+    }
+
+    /**
+     * Captures a world over the oldest snapshot.
+     *
+     * @param world The world.
+     * @return The snapshot, valid until the history wraps around.
+     */
+    public Snapshot record(World world) {
+        Snapshot snapshot = snapshots[next];
+        next = (next + 1) % snapshots.length;
+        snapshot.capture(world);
+        return snapshot;
+    }
+
+    /**
+     * Copies a snapshot over the oldest one, for a reader keeping the
+     * snapshots it decoded.
+     *
+     * @param snapshot The snapshot to keep.
+     * @return The copy, valid until the history wraps around.
+     */
+    public Snapshot add(Snapshot snapshot) {
+        Snapshot copy = snapshots[next];
+        next = (next + 1) % snapshots.length;
+        copy.copyFrom(snapshot);
+        return copy;
+    }
+
+    /**
+     * Gets the snapshot of a tick.
+     *
+     * @param tick The tick.
+     * @return The snapshot, or null if it is not kept.
+     */
+    public Snapshot get(long tick) {
+        if (tick < 0) {
+            return null;
+        }
+        for (Snapshot snapshot : snapshots) {
+            if (snapshot.tick == tick) {
+                return snapshot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Forgets every snapshot, for when the world restarts and its ticks
+     * count from 0 again.
+     */
+    public void clear() {
+        for (Snapshot snapshot : snapshots) {
+            snapshot.tick = -1;
+        }
+        next = 0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.game.sim;
+
+public enum Sprite {
+    PLAYER("/for_char1.png", 1, 1),
+    CAR_LEFT("/car_left2.png", 1, 1),
+    CAR_RIGHT("/car_right3.png", 1, 1),
+    TRAIN("/train.png", 12, 1),
+    LOG("/log.png", 3, 1),
+    DOUBLE_POINT("/doublePoint.png", 1, 1),
+    SHIELD("/shield.png", 1, 1),
+    CLOCK("/clock.png", 1, 1);
+
+    /**
+     * Sprites are scaled to fit grid cells slightly smaller than the grid size.
+     */
+    public static final double SPRITE_SIZE = Grid.SIZE * 0.9;
+
+    private final String imagePath;
+    private final double defaultWidth;
+    private final double defaultHeight;
+
+    /**
+     * Constructor for the Sprite enum.
+     *
+     * @param imagePath The resource path of the image of the sprite.
+     * @param cellsWide How many sprite cells the sprite spans horizontally.
+     * @param cellsHigh How many sprite cells the sprite spans vertically.
+     */
+    Sprite(String imagePath, int cellsWide, int cellsHigh) {
+        this.imagePath = imagePath;
+        this.defaultWidth = cellsWide * SPRITE_SIZE;
+        this.defaultHeight = cellsHigh * SPRITE_SIZE;
+    }
+
+    /**
+     * Gets the width used when no image has been loaded for the sprite.
+     *
+     * @return The default width of the sprite.
+     */
+    public double getDefaultWidth() {
+        return defaultWidth;
+    }
+
+    /**
+     * Gets the height used when no image has been loaded for the sprite.
+     *
+     * @return The default height of the sprite.
+     */
+    public double getDefaultHeight() {
+        return defaultHeight;
+    }
+
+    /**
+     * Gets the resource path of the image of the sprite, the one its
+     * collision mask is built from.
+     *
+     * @return The resource path, from the root of the class path.
+     */
+    public String getImagePath() {
+        return imagePath;
+    }
+}
@@ -0,0 +1,131 @@
+package com.game.sim;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Builds the collision masks of the sprites from the alpha channel of their
+ * images, decoded with ImageIO rather than JavaFX. The game, replays, batch
+ * runs and the server all take their masks from here, so a world hits on the
+ * same pixels wherever it runs as long as it has the same sprite sizes.
+ * <p>
+ * An image is scaled to the size of the sprite by averaging the alpha of the
+ * source pixels under each mask pixel, in integer steps, so the mask of a
+ * size is the same on every machine. Images and masks are decoded once and
+ * shared; masks are immutable.
+ */
+public final class SpriteMasks {
+
+    /** Pixels at least half opaque are solid. */
+    public static final int MIN_ALPHA = 128;
+
+    private static final EnumMap<Sprite, int[]> ALPHAS = new EnumMap<>(Sprite.class);
+    private static final EnumMap<Sprite, int[]> IMAGE_SIZES = new EnumMap<>(Sprite.class);
+    private static final HashMap<String, CollisionMask> MASKS = new HashMap<>();
+
+    private SpriteMasks() {
+    }
+
+    /**
+     * Sets the mask of every sprite of a world, at the size its bodies spawn
+     * with.
+     *
+     * @param world The world.
+     * @throws UncheckedIOException If an image can't be decoded.
+     */
+    public static void apply(World world) {
+        for (Sprite sprite : Sprite.values()) {
+            world.setCollisionMask(sprite, get(sprite, (int) Math.round(world.getSpriteWidth(sprite)),
+                    (int) Math.round(world.getSpriteHeight(sprite))));
+        }
+    }
+
+    /**
+     * Gets the mask of a sprite at a size.
+     *
+     * @param sprite The sprite.
+     * @param width  The width of the mask.
+     * @param height The height of the mask.
+     * @return The mask, or null if the size is empty or the image is missing.
+     * @throws UncheckedIOException If the image can't be decoded.
+     */
+    public static synchronized CollisionMask get(Sprite sprite, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        String key = sprite.name() + '@' + width + 'x' + height;
+        if (MASKS.containsKey(key)) {
+            return MASKS.get(key);
+        }
+        if (!ALPHAS.containsKey(sprite)) {
+            load(sprite);
+        }
+        int[] alpha = ALPHAS.get(sprite);
+        CollisionMask mask = alpha == null ? null : scale(alpha, IMAGE_SIZES.get(sprite), width, height);
+        MASKS.put(key, mask);
+        return mask;
+    }
+
+    /**
+     * Decodes the image of a sprite and keeps its alpha channel.
+     *
+     * @param sprite The sprite.
+     * @throws UncheckedIOException If the image can't be decoded.
+     */
+    private static void load(Sprite sprite) {
+        try (InputStream in = Sprite.class.getResourceAsStream(sprite.getImagePath())) {
+            BufferedImage image = in == null ? null : ImageIO.read(in);
+            if (image == null) {
+                ALPHAS.put(sprite, null);
+                return;
+            }
+            int w = image.getWidth();
+            int h = image.getHeight();
+            int[] alpha = image.getRGB(0, 0, w, h, null, 0, w);
+            for (int i = 0; i < alpha.length; i++) {
+                alpha[i] >>>= 24;
+            }
+            ALPHAS.put(sprite, alpha);
+            IMAGE_SIZES.put(sprite, new int[] { w, h });
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not decode " + sprite.getImagePath(), e);
+        }
+    }
+
+    /**
+     * Scales the alpha of an image to a mask.
+     *
+     * @param alpha  The alpha of the image, row by row.
+     * @param size   The width and height of the image.
+     * @param width  The width of the mask.
+     * @param height The height of the mask.
+     * @return The mask.
+     */
+    private static CollisionMask scale(int[] alpha, int[] size, int width, int height) {
+        int sourceWidth = size[0];
+        int sourceHeight = size[1];
+        int[] argb = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            int top = (int) ((long) y * sourceHeight / height);
+            int bottom = Math.max(top + 1, (int) ((long) (y + 1) * sourceHeight / height));
+            for (int x = 0; x < width; x++) {
+                int left = (int) ((long) x * sourceWidth / width);
+                int right = Math.max(left + 1, (int) ((long) (x + 1) * sourceWidth / width));
+                long sum = 0;
+                for (int sy = top; sy < bottom; sy++) {
+                    for (int sx = left; sx < right; sx++) {
+                        sum += alpha[sy * sourceWidth + sx];
+                    }
+                }
+                argb[y * width + x] = (int) (sum / ((long) (bottom - top) * (right - left))) << 24;
+            }
+        }
+        return CollisionMask.fromArgb(width, height, argb, MIN_ALPHA);
+    }
+}
@@ -0,0 +1,149 @@
+package com.game.sim;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import com.game.Settings;
+
+/**
+ * Drives an {@link ObstacleStore}, or with {@code analytic} an
+ * {@link AnalyticLanes}, with a constant number of vehicles and reports the
+ * cost per tick and the collections it caused.
+ * <p>
+ * Usage: {@code java -cp target/classes com.game.sim.StressRun [vehicles] [ticks] [analytic]}
+ */
+public class StressRun {
+
+    /**
+     * Runs the stress test.
+     *
+     * @param args The number of vehicles and the number of ticks.
+     */
+    public static void main(String[] args) {
+        int vehicles = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        if (args.length > 2 && "analytic".equals(args[2])) {
+            runAnalytic(vehicles, ticks);
+            return;
+        }
+
+        Random rnd = new Random(42);
+        ObstacleStore store = new ObstacleStore(vehicles);
+        for (int i = 0; i < vehicles; i++) {
+            spawn(store, rnd, rnd.nextDouble() * Settings.SCENE_WIDTH);
+        }
+
+        double size = Sprite.SPRITE_SIZE;
+        double playerX = Grid.gridToPixel(Grid.WIDTH / 2);
+        double playerY = Grid.gridToPixel((int) (Grid.HEIGHT * 0.7));
+
+        long collections = collectionCount();
+        long hits = 0;
+        long start = System.nanoTime();
+        for (int t = 0; t < ticks; t++) {
+            store.move();
+            int removed = store.removeOffscreen();
+            for (int i = 0; i < removed; i++) {
+                spawn(store, rnd, Double.NaN);
+            }
+            if (store.findOverlap(playerX, playerY, size, size) >= 0) {
+                hits++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%d vehicles, %d ticks: %.1f us/tick, %d ticks with a hit, %d collections%n", vehicles,
+                ticks, elapsed / 1000.0 / ticks, hits, collectionCount() - collections);
+    }
+
+    /**
+     * Runs the same load as {@link #main(String[])} on obstacles whose position
+     * is only worked out for the lanes the player box spans. Tick {@code t}
+     * here is the state after {@code t} moves of the store, so both modes see
+     * the same spawns and the same hits.
+     *
+     * @param vehicles The number of vehicles.
+     * @param ticks    The number of ticks.
+     */
+    private static void runAnalytic(int vehicles, int ticks) {
+        Random rnd = new Random(42);
+        AnalyticLanes lanes = new AnalyticLanes(Grid.HEIGHT);
+        for (int i = 0; i < vehicles; i++) {
+            spawn(lanes, 0, rnd, rnd.nextDouble() * Settings.SCENE_WIDTH);
+        }
+
+        double size = Sprite.SPRITE_SIZE;
+        double playerX = Grid.gridToPixel(Grid.WIDTH / 2);
+        double playerY = Grid.gridToPixel((int) (Grid.HEIGHT * 0.7));
+
+        long collections = collectionCount();
+        long hits = 0;
+        long start = System.nanoTime();
+        for (long t = 1; t <= ticks; t++) {
+            int removed = lanes.prune(t);
+            for (int i = 0; i < removed; i++) {
+                spawn(lanes, t, rnd, Double.NaN);
+            }
+            if (lanes.overlaps(playerX, playerY, size, size, t)) {
+                hits++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%d vehicles, %d ticks, analytic: %.1f us/tick, %d ticks with a hit, %d collections%n",
+                vehicles, ticks, elapsed / 1000.0 / ticks, hits, collectionCount() - collections);
+    }
+
+    /**
+     * Spawns a car at the given X, or at the screen edge it drives in from if
+     * X is NaN.
+     *
+     * @param store The store to add the car to.
+     * @param rnd   The random source.
+     * @param x     The X position of the car, or NaN.
+     */
+    private static void spawn(ObstacleStore store, Random rnd, double x) {
+        boolean spawnRight = rnd.nextBoolean();
+        double size = Sprite.SPRITE_SIZE;
+        double speed = (rnd.nextDouble() * Settings.CAR_SPEED_VARIATION + Settings.CAR_SPEED) * World.STEP_SECONDS;
+        if (Double.isNaN(x)) {
+            x = spawnRight ? Settings.SCENE_WIDTH : -size;
+        }
+        store.add(spawnRight ? Sprite.CAR_LEFT : Sprite.CAR_RIGHT, rnd.nextInt(Grid.HEIGHT), x, size, size,
+                spawnRight ? -speed : speed);
+    }
+
+    /**
+     * Spawns a car at the given X and tick, or at the screen edge it drives in
+     * from if X is NaN, drawing the same numbers as the store version.
+     *
+     * @param lanes The lanes to add the car to.
+     * @param tick  The tick of the spawn.
+     * @param rnd   The random source.
+     * @param x     The X position of the car, or NaN.
+     */
+    private static void spawn(AnalyticLanes lanes, long tick, Random rnd, double x) {
+        boolean spawnRight = rnd.nextBoolean();
+        double size = Sprite.SPRITE_SIZE;
+        double speed = (rnd.nextDouble() * Settings.CAR_SPEED_VARIATION + Settings.CAR_SPEED) * World.STEP_SECONDS;
+        if (Double.isNaN(x)) {
+            x = spawnRight ? Settings.SCENE_WIDTH : -size;
+        }
+        lanes.add(spawnRight ? Sprite.CAR_LEFT : Sprite.CAR_RIGHT, rnd.nextInt(Grid.HEIGHT), tick, x, size, size,
+                spawnRight ? -speed : speed);
+    }
+
+    /**
+     * Sums the collections of every garbage collector so far.
+     *
+     * @return The number of collections.
+     */
+    private static long collectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,231 @@
+package com.game.sim;
+
+/**
+ * Hashed timing wheel driven by the simulation tick. Tasks run on the thread
+ * that calls {@link #advance()}, which is the thread stepping the world, so
+ * they may change bodies without any locking. Because the wheel only turns
+ * while the world steps, a paused or finished game pauses every pending task
+ * with it.
+ * <p>
+ * Scheduling, cancelling, pausing and resuming a task are O(1); a turn of the
+ * wheel only looks at the tasks hashed to the current slot.
+ */
+public class TimingWheel {
+
+    private final Timeout[] slots;
+    private final int mask;
+
+    private long tick = 0;
+    private boolean paused = false;
+    private int size = 0;
+
+    /**
+     * Constructor for the TimingWheel class.
+     *
+     * @param slotCount The number of slots, rounded up to a power of two. A
+     *                  task further away than one turn waits a round per
+     *                  turn in its slot.
+     */
+    public TimingWheel(int slotCount) {
+        int n = Integer.highestOneBit(Math.max(slotCount - 1, 1)) << 1;
+        slots = new Timeout[n];
+        mask = n - 1;
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param task  The task to run.
+     * @param delay The number of ticks to wait, at least one.
+     * @return The handle to cancel, pause or resume the task.
+     */
+    public Timeout schedule(Runnable task, long delay) {
+        Timeout timeout = new Timeout(task);
+        timeout.remaining = Math.max(delay, 1);
+        insert(timeout);
+        return timeout;
+    }
+
+    /**
+     * Turns the wheel by one tick and runs every task that became due.
+     */
+    public void advance() {
+        if (paused) {
+            return;
+        }
+        tick++;
+
+        int slot = (int) (tick & mask);
+        Timeout timeout = slots[slot];
+        while (timeout != null) {
+            if (timeout.deadline <= tick) {
+                unlink(timeout);
+                timeout.state = Timeout.EXPIRED;
+                timeout.task.run();
+                // the task may have cancelled or scheduled timeouts of this
+                // slot, so start over from its head
+                timeout = slots[slot];
+            } else {
+                timeout = timeout.next;
+            }
+        }
+    }
+
+    /**
+     * Pauses or resumes the whole wheel.
+     *
+     * @param paused True to stop the wheel, false to let it turn again.
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Checks if the wheel is paused.
+     *
+     * @return True if the wheel is paused, false otherwise.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Drops every pending task without running it.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            Timeout timeout = slots[i];
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                timeout.prev = null;
+                timeout.next = null;
+                timeout.state = Timeout.CANCELLED;
+                timeout = next;
+            }
+            slots[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Gets the number of pending tasks, paused ones not included.
+     *
+     * @return The number of pending tasks.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void insert(Timeout timeout) {
+        timeout.deadline = tick + timeout.remaining;
+        int slot = (int) (timeout.deadline & mask);
+        timeout.slot = slot;
+        timeout.prev = null;
+        timeout.next = slots[slot];
+        if (slots[slot] != null) {
+            slots[slot].prev = timeout;
+        }
+        slots[slot] = timeout;
+        timeout.state = Timeout.PENDING;
+        size++;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        size--;
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public class Timeout {
+
+        static final int PENDING = 0;
+        static final int PAUSED = 1;
+        static final int EXPIRED = 2;
+        static final int CANCELLED = 3;
+
+        final Runnable task;
+
+        Timeout prev;
+        Timeout next;
+        int slot;
+        long deadline;
+        long remaining;
+        int state;
+
+        Timeout(Runnable task) {
+            this.task = task;
+        }
+
+        /**
+         * Cancels the task if it hasn't run yet.
+         *
+         * @return True if the task was cancelled, false if it already ran.
+         */
+        public boolean cancel() {
+            if (state == PENDING) {
+                unlink(this);
+            } else if (state != PAUSED) {
+                return false;
+            }
+            state = CANCELLED;
+            return true;
+        }
+
+        /**
+         * Stops the countdown of the task, keeping the ticks it still has to
+         * wait.
+         */
+        public void pause() {
+            if (state == PENDING) {
+                unlink(this);
+                remaining = Math.max(deadline - tick, 1);
+                state = PAUSED;
+            }
+        }
+
+        /**
+         * Continues the countdown of a paused task.
+         */
+        public void resume() {
+            if (state == PAUSED) {
+                insert(this);
+            }
+        }
+
+        /**
+         * Gets the number of ticks left before the task runs.
+         *
+         * @return The remaining ticks, or 0 if the task ran or was cancelled.
+         */
+        public long getRemaining() {
+            switch (state) {
+                case PENDING:
+                    return deadline - tick;
+                case PAUSED:
+                    return remaining;
+                default:
+                    return 0;
+            }
+        }
+
+        /**
+         * Checks if the task is still waiting to run, paused or not.
+         *
+         * @return True if the task is pending, false otherwise.
+         */
+        public boolean isPending() {
+            return state == PENDING || state == PAUSED;
+        }
+    }
+}
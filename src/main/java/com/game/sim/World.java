@@ -0,0 +1,845 @@
+package com.game.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.game.Settings;
+import com.game.events.CollisionCheckEvent;
+import com.game.events.GameEvents;
+import com.game.events.GameOverEvent;
+import com.game.events.ObstacleRemovalEvent;
+import com.game.events.ObstacleSpawnEvent;
+import com.game.events.PowerUpActivationEvent;
+import com.game.events.RestartEvent;
+import com.game.powerUp.DoublePointPowerUp;
+import com.game.powerUp.PowerUp;
+import com.game.powerUp.ShieldPowerUp;
+
+/**
+ * Headless game state. Holds the players, obstacles and power ups and advances
+ * them one tick per {@link #step()} without touching any JavaFX type, so it can
+ * run in tests and batch jobs as well as behind the {@link com.game.Game} view.
+ */
+public class World {
+
+    /**
+     * Simulated time that passes with every call to {@link #step()}.
+     */
+    public static final double STEP_MILLIS = 1000.0 / Settings.TICK_RATE;
+    public static final double STEP_SECONDS = 1.0 / Settings.TICK_RATE;
+    public static final long STEP_NANOS = 1_000_000_000L / Settings.TICK_RATE;
+
+    /**
+     * The frame rate the spawn chances were tuned at, before the simulation
+     * ran on its own tick rate.
+     */
+    private static final double REFERENCE_RATE = 60.0;
+
+    /**
+     * The most removed obstacles kept for reuse per sprite.
+     */
+    private static final int OBSTACLE_POOL_CAPACITY = 1024;
+
+    /**
+     * The most removed power ups kept for reuse per sprite.
+     */
+    private static final int POWERUP_POOL_CAPACITY = 64;
+
+    /**
+     * Slots of the effect scheduler, a little over four seconds at 120 Hz.
+     */
+    private static final int SCHEDULER_SLOTS = 512;
+
+    private static final int NO_LANE = Integer.MIN_VALUE;
+
+    Random rnd;
+    private long seed;
+
+    List<PlayerBody> players = new ArrayList<>();
+    List<ObstacleBody> obstacles = new ArrayList<>();
+    List<PowerUp> powerUps = new ArrayList<>();
+
+    final LaneIndex lanes = new LaneIndex(Grid.HEIGHT);
+    final BodyPool<ObstacleBody> obstaclePool = new BodyPool<>(OBSTACLE_POOL_CAPACITY);
+    final BodyPool<PowerUp> powerUpPool = new BodyPool<>(POWERUP_POOL_CAPACITY);
+    private final List<ObstacleBody> candidates = new ArrayList<>();
+
+    private final List<WorldListener> listeners = new ArrayList<>();
+
+    private final TimingWheel scheduler = new TimingWheel(SCHEDULER_SLOTS);
+
+    private final double[] spriteWidths = new double[Sprite.values().length];
+    private final double[] spriteHeights = new double[Sprite.values().length];
+    private final CollisionMask[] collisionMasks = new CollisionMask[Sprite.values().length];
+
+    private Difficulty difficulty = new Difficulty();
+    private LaneStream terrain;
+    private FrameProfiler profiler;
+    private int viewRow = 0;
+
+    private long tick = 0;
+    private double time = 0;
+    private int nextBodyId = 0;
+
+    private int point = 0;
+    private boolean isGameOver = false;
+    private boolean paused = false;
+
+    boolean collision = false;
+
+    static {
+        GameEvents.preload();
+    }
+
+    /**
+     * Constructor for the World class, seeded from the clock.
+     */
+    public World() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Constructor for the World class. Every spawn decision comes from the
+     * seed, so the same seed and the same input give the same game.
+     *
+     * @param seed The seed of the first session.
+     */
+    public World(long seed) {
+        this.seed = seed;
+        this.rnd = new Random(seed);
+        for (Sprite sprite : Sprite.values()) {
+            spriteWidths[sprite.ordinal()] = sprite.getDefaultWidth();
+            spriteHeights[sprite.ordinal()] = sprite.getDefaultHeight();
+        }
+    }
+
+    /**
+     * Adds a listener that is told about spawned and removed bodies.
+     *
+     * @param listener The listener to add.
+     */
+    public void addListener(WorldListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Sets the spawn rates and obstacle speeds, from the next spawn on.
+     *
+     * @param difficulty The difficulty.
+     */
+    public void setDifficulty(Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Sets the generated lanes obstacles spawn on. Without them any visible row
+     * can get a car or a train.
+     *
+     * @param terrain The lane stream, or null for the fixed screen.
+     */
+    public void setTerrain(LaneStream terrain) {
+        this.terrain = terrain;
+    }
+
+    /**
+     * Gets the generated lanes obstacles spawn on.
+     *
+     * @return The lane stream, or null for the fixed screen.
+     */
+    public LaneStream getTerrain() {
+        return terrain;
+    }
+
+    /**
+     * Sets the profiler the phases of each tick are timed into.
+     *
+     * @param profiler The profiler, or null to stop timing.
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Sets the topmost visible grid row, the one lanes are streamed from and
+     * spawns start at.
+     *
+     * @param viewRow The topmost visible grid row.
+     */
+    public void setViewRow(int viewRow) {
+        this.viewRow = viewRow;
+    }
+
+    /**
+     * Gets the world Y at the top of the view, the top of the topmost visible
+     * grid row.
+     *
+     * @return The Y position of the view.
+     */
+    public double getViewTop() {
+        return Grid.gridToPixel(viewRow);
+    }
+
+    /**
+     * Sets the size bodies of the given sprite are spawned with, usually the
+     * size of the loaded image.
+     *
+     * @param sprite The sprite.
+     * @param w      The width of the sprite.
+     * @param h      The height of the sprite.
+     */
+    public void setSpriteSize(Sprite sprite, double w, double h) {
+        spriteWidths[sprite.ordinal()] = w;
+        spriteHeights[sprite.ordinal()] = h;
+    }
+
+    /**
+     * Sets the opaque pixels of the given sprite, for pixel accurate hits. The
+     * mask has to match the size the sprite is spawned with.
+     *
+     * @param sprite The sprite.
+     * @param mask   The mask, or null to collide on the bounding box.
+     */
+    public void setCollisionMask(Sprite sprite, CollisionMask mask) {
+        collisionMasks[sprite.ordinal()] = mask;
+    }
+
+    /**
+     * Gets the opaque pixels of the given sprite.
+     *
+     * @param sprite The sprite.
+     * @return The mask, or null if the sprite collides on its bounding box.
+     */
+    public CollisionMask getCollisionMask(Sprite sprite) {
+        return collisionMasks[sprite.ordinal()];
+    }
+
+    /**
+     * Gets the width bodies of the given sprite are spawned with.
+     *
+     * @param sprite The sprite.
+     * @return The width of the sprite.
+     */
+    public double getSpriteWidth(Sprite sprite) {
+        return spriteWidths[sprite.ordinal()];
+    }
+
+    /**
+     * Gets the height bodies of the given sprite are spawned with.
+     *
+     * @param sprite The sprite.
+     * @return The height of the sprite.
+     */
+    public double getSpriteHeight(Sprite sprite) {
+        return spriteHeights[sprite.ordinal()];
+    }
+
+    /**
+     * Advances the world by one tick.
+     */
+    public void step() {
+        if (isGameOver || paused) {
+            return;
+        }
+
+        long start = profiler != null ? System.nanoTime() : 0;
+        long t = start;
+
+        tick++;
+        time += STEP_MILLIS;
+
+        // expire timed effects
+        scheduler.advance();
+        t = lap(FrameProfiler.Phase.TIMERS, t);
+
+        // stream generated lanes around the view
+        if (terrain != null) {
+            terrain.update(viewRow, viewRow + Grid.HEIGHT - 1);
+        }
+        t = lap(FrameProfiler.Phase.TERRAIN, t);
+
+        // player input
+        players.forEach(player -> player.processInput());
+        t = lap(FrameProfiler.Phase.INPUT, t);
+
+        // add random enemies
+        spawnCars(true);
+        spawnTrain(true);
+        spawnLogs(true);
+        t = lap(FrameProfiler.Phase.SPAWN, t);
+
+        // movement
+        players.forEach(player -> player.savePosition());
+        obstacles.forEach(obstacle -> obstacle.savePosition());
+        players.forEach(player -> player.move());
+        obstacles.forEach(obstacle -> obstacle.move());
+        powerUps.forEach(powerUp -> powerUp.move());
+        lanes.update();
+        t = lap(FrameProfiler.Phase.MOVE, t);
+
+        // check collisions
+        checkCollisions();
+        t = lap(FrameProfiler.Phase.COLLISION, t);
+
+        // check if obstacle can be removed
+        double viewTop = getViewTop();
+        obstacles.forEach(obstacle -> obstacle.checkRemovability(viewTop));
+        powerUps.forEach(powerUp -> powerUp.checkRemovability(viewTop));
+
+        // remove removables from list
+        removeObstacles();
+        removeBodies(powerUps, powerUpPool);
+        t = lap(FrameProfiler.Phase.REMOVAL, t);
+
+        // spawn powerUps
+        spawnPowerUps();
+        t = lap(FrameProfiler.Phase.POWER_UPS, t);
+
+        if (profiler != null) {
+            profiler.record(FrameProfiler.Phase.STEP, t - start);
+        }
+    }
+
+    /**
+     * Records the time since the given start for a phase of the tick, if
+     * profiling is on.
+     *
+     * @param phase The phase that just ended.
+     * @param start The start of the phase.
+     * @return The start of the next phase.
+     */
+    private long lap(FrameProfiler.Phase phase, long start) {
+        return profiler != null ? profiler.lap(phase, start) : 0;
+    }
+
+    /**
+     * Creates a player in the middle of the view, at 70% of its height.
+     *
+     * @param controls The controls steering the player.
+     * @return The created player.
+     */
+    public PlayerBody createPlayer(Controls controls) {
+        double w = getSpriteWidth(Sprite.PLAYER);
+        double h = getSpriteHeight(Sprite.PLAYER);
+
+        // Center the sprite in the grid cell
+        int gridX = Grid.WIDTH / 2;
+        int gridY = viewRow + (int) (Grid.HEIGHT * 0.7);
+        double x = Grid.gridToPixel(gridX) + (Grid.SIZE - w) / 2;
+        double y = Grid.gridToPixel(gridY) + (Grid.SIZE - h) / 2;
+
+        PlayerBody player = new PlayerBody(this, controls, x, y, w, h);
+        players.add(player);
+        fireSpawn(player);
+        return player;
+    }
+
+    /**
+     * Removes every body and resets score and game over state. The next
+     * session is seeded from the random source of the last one, so a run of
+     * sessions stays reproducible from the first seed.
+     */
+    public void reset() {
+        reset(rnd.nextLong());
+    }
+
+    /**
+     * Removes every body, resets score and game over state, and reseeds the
+     * random source and the generated lanes.
+     *
+     * @param seed The seed of the new session.
+     */
+    public void reset(long seed) {
+        RestartEvent event = new RestartEvent();
+        if (event.shouldCommit()) {
+            event.seed = seed;
+            event.previousTicks = tick;
+            event.previousScore = point;
+            event.commit();
+        }
+
+        this.seed = seed;
+        rnd.setSeed(seed);
+        if (terrain != null) {
+            terrain.reset(seed);
+        }
+        tick = 0;
+        time = 0;
+
+        lanes.clear();
+        obstacles.forEach(obstaclePool::free);
+        clear(obstacles);
+        powerUps.forEach(powerUpPool::free);
+        clear(powerUps);
+        clear(players);
+        nextBodyId = 0;
+
+        scheduler.clear();
+
+        point = 0;
+        collision = false;
+        isGameOver = false;
+        paused = false;
+    }
+
+    /**
+     * Spawns enemies.
+     *
+     * @param random Whether to spawn enemies randomly.
+     */
+    void spawnCars(boolean random) {
+        if (random && !roll(difficulty.enemySpawnRandomness)) {
+            return;
+        }
+
+        // Randomly choose left or right spawn
+        boolean spawnRight = rnd.nextBoolean();
+
+        int gridX = pickLane(LaneType.ROAD);
+        if (gridX == NO_LANE) {
+            return;
+        }
+        if (terrain != null) {
+            // all traffic of a generated lane drives the same way
+            spawnRight = terrain.getDirection(gridX) < 0;
+        }
+        double x, y, speed;
+
+        if (spawnRight) {
+            x = Settings.SCENE_WIDTH;
+            y = Grid.gridToPixel(gridX) + (Grid.SIZE - getSpriteHeight(Sprite.CAR_LEFT)) / 2;
+            speed = -(rnd.nextDouble() * difficulty.carSpeedVariation + difficulty.carSpeed) * STEP_SECONDS;
+
+            addObstacle(Sprite.CAR_LEFT, gridX, x, y, speed);
+        } else {
+            x = -getSpriteWidth(Sprite.CAR_RIGHT);
+            y = Grid.gridToPixel(gridX) + (Grid.SIZE - getSpriteHeight(Sprite.CAR_RIGHT)) / 2;
+            speed = (rnd.nextDouble() * difficulty.carSpeedVariation + difficulty.carSpeed) * STEP_SECONDS;
+
+            addObstacle(Sprite.CAR_RIGHT, gridX, x, y, speed);
+        }
+    }
+
+    /**
+     * Spawns a train.
+     *
+     * @param random Whether to spawn a train randomly.
+     */
+    void spawnTrain(boolean random) {
+        if (random && !roll(difficulty.trainSpawnRandomness)) {
+            return;
+        }
+
+        // Randomly choose left or right spawn
+        boolean spawnRight = rnd.nextBoolean();
+
+        int gridX = pickLane(LaneType.RAIL);
+        if (gridX == NO_LANE) {
+            return;
+        }
+        if (terrain != null) {
+            spawnRight = terrain.getDirection(gridX) < 0;
+        }
+        double x, y, speed;
+
+        if (spawnRight) {
+            x = Settings.SCENE_WIDTH;
+            y = Grid.gridToPixel(gridX) + (Grid.SIZE - getSpriteHeight(Sprite.TRAIN)) / 2;
+            speed = -(rnd.nextDouble() * difficulty.trainSpeedVariation + difficulty.trainSpeed) * STEP_SECONDS;
+        } else {
+            x = -getSpriteWidth(Sprite.TRAIN);
+            y = Grid.gridToPixel(gridX) + (Grid.SIZE - getSpriteHeight(Sprite.TRAIN)) / 2;
+            speed = (rnd.nextDouble() * difficulty.trainSpeedVariation + difficulty.trainSpeed) * STEP_SECONDS;
+        }
+
+        addObstacle(Sprite.TRAIN, gridX, x, y, speed);
+    }
+
+    /**
+     * Spawns a log on a generated river lane. Without generated lanes there
+     * is no river, and no log.
+     *
+     * @param random Whether to spawn a log randomly.
+     */
+    void spawnLogs(boolean random) {
+        if (terrain == null || random && !roll(difficulty.logSpawnRandomness)) {
+            return;
+        }
+
+        int gridX = pickLane(LaneType.RIVER);
+        if (gridX == NO_LANE) {
+            return;
+        }
+        boolean spawnRight = terrain.getDirection(gridX) < 0;
+        double x = spawnRight ? Settings.SCENE_WIDTH : -getSpriteWidth(Sprite.LOG);
+        double y = Grid.gridToPixel(gridX) + (Grid.SIZE - getSpriteHeight(Sprite.LOG)) / 2;
+        double speed = (spawnRight ? -difficulty.logSpeed : difficulty.logSpeed) * STEP_SECONDS;
+
+        addObstacle(Sprite.LOG, gridX, x, y, speed);
+    }
+
+    /**
+     * Picks a random visible row for a spawn. With generated lanes the row is
+     * picked among the visible rows of the given type, so a spawn only fails
+     * when none is in view.
+     *
+     * @param type The lane type the spawn needs.
+     * @return The grid row, or {@link #NO_LANE} if no visible row fits.
+     */
+    private int pickLane(LaneType type) {
+        if (terrain == null) {
+            return viewRow + rnd.nextInt(Grid.HEIGHT);
+        }
+        int count = 0;
+        for (int row = viewRow; row < viewRow + Grid.HEIGHT; row++) {
+            if (terrain.getType(row) == type) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return NO_LANE;
+        }
+        int pick = rnd.nextInt(count);
+        for (int row = viewRow;; row++) {
+            if (terrain.getType(row) == type && pick-- == 0) {
+                return row;
+            }
+        }
+    }
+
+    /**
+     * Rolls a one in {@code oneIn} chance per 60 Hz frame, scaled down to the
+     * tick rate so spawns happen as often whatever the tick rate is.
+     *
+     * @param oneIn The inverse of the chance per reference frame.
+     * @return True if the roll succeeded, false otherwise.
+     */
+    private boolean roll(int oneIn) {
+        return rnd.nextDouble() * oneIn * Settings.TICK_RATE < REFERENCE_RATE;
+    }
+
+    /**
+     * Adds an obstacle to the world, reusing a removed one of the same sprite
+     * when the pool has one.
+     *
+     * @param sprite The sprite of the obstacle.
+     * @param lane   The grid row of the obstacle.
+     * @param x      The X position of the obstacle.
+     * @param y      The Y position of the obstacle.
+     * @param speed  The X velocity of the obstacle.
+     */
+    private void addObstacle(Sprite sprite, int lane, double x, double y, double speed) {
+        ObstacleBody obstacle = obstaclePool.obtain(sprite);
+        boolean reused = obstacle != null;
+        if (obstacle == null) {
+            obstacle = new ObstacleBody(sprite, lane, x, y, getSpriteWidth(sprite), getSpriteHeight(sprite), speed);
+        } else {
+            obstacle.reset(lane, x, y, getSpriteWidth(sprite), getSpriteHeight(sprite), speed);
+        }
+        obstacles.add(obstacle);
+        lanes.add(obstacle);
+        fireSpawn(obstacle);
+
+        ObstacleSpawnEvent event = new ObstacleSpawnEvent();
+        if (event.shouldCommit()) {
+            event.sprite = sprite.name();
+            event.lane = lane;
+            event.reused = reused;
+            event.obstacles = obstacles.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Spawns power ups.
+     */
+    void spawnPowerUps() {
+        if (!roll(difficulty.powerUpSpawnRandomness)) {
+            return;
+        }
+
+        // Choose a random kind of power up
+        boolean isShield = rnd.nextBoolean();
+        Sprite sprite = isShield ? Sprite.SHIELD : Sprite.DOUBLE_POINT;
+        double w = getSpriteWidth(sprite);
+        double h = getSpriteHeight(sprite);
+
+        int gridX = rnd.nextInt(Grid.WIDTH);
+        int gridY = viewRow + rnd.nextInt(Grid.HEIGHT);
+
+        double x = Grid.gridToPixel(gridX) + (Grid.SIZE - w) / 2;
+        double y = Grid.gridToPixel(gridY) + (Grid.SIZE - h) / 2;
+
+        // Dont generate a power up on the player
+        for (PlayerBody player : players) {
+            if (player.getX() == x && player.getY() == y) {
+                return;
+            }
+        }
+
+        long lifetime = (long) Math.ceil(Settings.POWERUP_LIFETIME / STEP_MILLIS);
+        PowerUp powerUp = powerUpPool.obtain(sprite);
+        if (powerUp != null) {
+            powerUp.reset(x, y, w, h, lifetime);
+        } else if (isShield) {
+            powerUp = new ShieldPowerUp(x, y, w, h, lifetime);
+        } else {
+            powerUp = new DoublePointPowerUp(x, y, w, h, lifetime);
+        }
+
+        powerUps.add(powerUp);
+        fireSpawn(powerUp);
+    }
+
+    /**
+     * Removes removable obstacles from the lanes and the list, and gives them
+     * back to the pool.
+     */
+    void removeObstacles() {
+        int before = obstacles.size();
+        lanes.removeRemovables();
+        removeBodies(obstacles, obstaclePool);
+
+        if (obstacles.size() < before) {
+            ObstacleRemovalEvent event = new ObstacleRemovalEvent();
+            if (event.shouldCommit()) {
+                event.removed = before - obstacles.size();
+                event.obstacles = obstacles.size();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Removes removable bodies from the list in a single pass.
+     *
+     * @param bodies The list of bodies to remove from.
+     * @param pool   The pool removed bodies are given back to, or null.
+     */
+    private <T extends Body> void removeBodies(List<T> bodies, BodyPool<T> pool) {
+        bodies.removeIf(body -> {
+            if (!body.isRemovable()) {
+                return false;
+            }
+            fireRemove(body);
+            if (pool != null) {
+                pool.free(body);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Removes every body from the list.
+     *
+     * @param bodies The list of bodies to clear.
+     */
+    private void clear(List<? extends Body> bodies) {
+        bodies.forEach(this::fireRemove);
+        bodies.clear();
+    }
+
+    /**
+     * Checks for collisions between players and obstacles and power ups. Only
+     * the obstacles of the lanes a player overlaps are tested.
+     */
+    void checkCollisions() {
+        CollisionCheckEvent event = new CollisionCheckEvent();
+        event.begin();
+
+        collision = false;
+        int tested = 0;
+        for (PlayerBody player : players) {
+            for (ObstacleBody obstacle : lanes.query(player, candidates)) {
+                if (obstacle.getSprite() == Sprite.LOG) {
+                    // logs only float by; the river doesn't drown yet
+                    continue;
+                }
+                tested++;
+                if (player.checkCollisions(obstacle)) {
+                    collision = true;
+                }
+            }
+            for (PowerUp powerUp : powerUps) {
+                if (!powerUp.isRemovable() && powerUp.isPickedUpBy(player)) {
+                    powerUp.activate(player);
+                    powerUp.remove();
+                    firePowerUpActivation(powerUp);
+                    break;
+                }
+            }
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.players = players.size();
+            event.obstacles = obstacles.size();
+            event.candidates = tested;
+            event.powerUps = powerUps.size();
+            event.hit = collision;
+            event.commit();
+        }
+    }
+
+    private void firePowerUpActivation(PowerUp powerUp) {
+        PowerUpActivationEvent event = new PowerUpActivationEvent();
+        if (event.shouldCommit()) {
+            event.sprite = powerUp.getSprite().name();
+            event.tick = tick;
+            event.score = point;
+            event.commit();
+        }
+    }
+
+    /**
+     * Ends the game, notifying the listeners once.
+     */
+    void gameOver() {
+        if (isGameOver) {
+            return;
+        }
+        isGameOver = true;
+
+        GameOverEvent event = new GameOverEvent();
+        if (event.shouldCommit()) {
+            event.seed = seed;
+            event.tick = tick;
+            event.score = point;
+            event.obstacles = obstacles.size();
+            event.commit();
+        }
+
+        listeners.forEach(WorldListener::onGameOver);
+    }
+
+    /**
+     * Schedules a task on the simulation tick. The task runs inside
+     * {@link #step()}, and its delay only counts down while the world is
+     * stepping.
+     *
+     * @param task  The task to schedule.
+     * @param delay The delay in milliseconds of simulated time.
+     * @return The handle to cancel, pause or resume the task.
+     */
+    public TimingWheel.Timeout scheduleTask(Runnable task, long delay) {
+        return scheduler.schedule(task, (long) Math.ceil(delay / STEP_MILLIS));
+    }
+
+    private void fireSpawn(Body body) {
+        body.id = nextBodyId++;
+        listeners.forEach(listener -> listener.onSpawn(body));
+    }
+
+    private void fireRemove(Body body) {
+        listeners.forEach(listener -> listener.onRemove(body));
+    }
+
+    /**
+     * Updates the score.
+     *
+     * @param points The points to update the score with.
+     */
+    public void updateScore(int points) {
+        point += points;
+    }
+
+    /**
+     * Gets the score.
+     *
+     * @return The score.
+     */
+    public int getPoint() {
+        return point;
+    }
+
+    /**
+     * Gets the seed of the current session.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Checks if the game is over.
+     *
+     * @return True if the game is over, false otherwise.
+     */
+    public boolean isGameOver() {
+        return isGameOver;
+    }
+
+    /**
+     * Pauses or resumes the world. A paused world ignores {@link #step()}, so
+     * bodies and timed effects stand still.
+     *
+     * @param paused True to pause, false to resume.
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Checks if the world is paused.
+     *
+     * @return True if the world is paused, false otherwise.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Checks if a player collided with an obstacle during the last tick.
+     *
+     * @return True if there was a collision, false otherwise.
+     */
+    public boolean hasCollision() {
+        return collision;
+    }
+
+    /**
+     * Gets the number of ticks the world has advanced.
+     *
+     * @return The tick count.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the simulated time in milliseconds.
+     *
+     * @return The simulated time.
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Gets the players.
+     *
+     * @return The players.
+     */
+    public List<PlayerBody> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Gets the obstacles.
+     *
+     * @return The obstacles.
+     */
+    public List<ObstacleBody> getObstacles() {
+        return obstacles;
+    }
+
+    /**
+     * Gets the power ups.
+     *
+     * @return The power ups.
+     */
+    public List<PowerUp> getPowerUps() {
+        return powerUps;
+    }
+}
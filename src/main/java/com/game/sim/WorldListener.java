@@ -0,0 +1,27 @@
+package com.game.sim;
+
+public interface WorldListener {
+
+    /**
+     * Called when a body has been added to the world.
+     *
+     * @param body The spawned body.
+     */
+    default void onSpawn(Body body) {
+    }
+
+    /**
+     * Called when a body has been removed from the world.
+     *
+     * @param body The removed body.
+     */
+    default void onRemove(Body body) {
+    }
+
+    /**
+     * Called once when a player of the world dies.
+     */
+    default void onGameOver() {
+    }
+
+}
@@ -3,6 +3,9 @@ module com.game {
     requires javafx.fxml;
     requires javafx.graphics;
     requires javafx.base;
+    requires java.desktop;
+    requires java.management;
+    requires jdk.jfr;
 
     opens com.game to javafx.fxml;
     exports com.game;